@@ -0,0 +1,149 @@
+package com.example.WeatherApplication.jmh;
+
+import com.example.WeatherApplication.cache.CachedForecast;
+import com.example.WeatherApplication.cache.CoordinateQuantizer;
+import com.example.WeatherApplication.cache.ForecastCache;
+import com.example.WeatherApplication.cache.HotCellTracker;
+import com.example.WeatherApplication.cache.OffHeapForecastTier;
+import com.example.WeatherApplication.metrics.ForecastMetrics;
+import com.example.WeatherApplication.metrics.ForecastRecording;
+import com.example.WeatherApplication.models.CellForecast;
+import com.example.WeatherApplication.models.ForecastResult;
+import com.example.WeatherApplication.models.GridCell;
+import com.example.WeatherApplication.services.Impl.ForecastAssembler;
+import com.example.WeatherApplication.services.Impl.WeatherServiceImpl;
+import com.example.WeatherApplication.upstream.ForecastResponseParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * The request path when the forecast is already cached: quantizing the coordinates, the
+ * on-heap and off-heap lookups on their own, and {@link WeatherServiceImpl#getForecastResult}
+ * end to end on a fresh hit, with and without the flight recorder events enabled. Requests
+ * rotate over {@value #CELLS} distinct cells.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheLookupBenchmark {
+
+    private static final int CELLS = 1024;
+    private static final double RESOLUTION = 0.02;
+
+    private final CoordinateQuantizer quantizer = new CoordinateQuantizer(RESOLUTION);
+    private final double[] latitudes = new double[CELLS];
+    private final double[] longitudes = new double[CELLS];
+    private final GridCell[] cells = new GridCell[CELLS];
+    private Path directory;
+    private OffHeapForecastTier offHeapTier;
+    private ForecastCache forecastCache;
+    private WeatherServiceImpl weatherService;
+    private LocalDate date;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        CellForecast cellForecast = ForecastAssembler.aggregate(ForecastAssembler.requirePeriods(
+                ForecastResponseParser.parseForecast(new ByteArrayInputStream(Fixtures.load("forecast.json")))));
+        date = cellForecast.days().keySet().stream().sorted().skip(1).findFirst().orElseThrow();
+
+        directory = Files.createTempDirectory("cache-lookup-benchmark");
+        offHeapTier = new OffHeapForecastTier(directory.resolve("forecast-tier.dat"), 16_384, 1_000, quantizer);
+        forecastCache = new ForecastCache(50_000, Duration.ofHours(1));
+        for (int i = 0; i < CELLS; i++) {
+            // Spread over the continental US, one request per cell
+            latitudes[i] = 25 + (i % 32) * 0.7 + 0.005;
+            longitudes[i] = -124 + (i / 32) * 1.7 + 0.005;
+            cells[i] = quantizer.quantize(latitudes[i], longitudes[i]);
+            forecastCache.put(cells[i], cellForecast, Duration.ofDays(1), "\"etag-" + i + "\"", null);
+            offHeapTier.put(cells[i], forecastCache.get(cells[i]));
+        }
+        // Only the collaborators a fresh hit touches; the fetch path is never reached
+        weatherService = new WeatherServiceImpl(null, null, quantizer, forecastCache, null,
+                new HotCellTracker(100_000), null, null, null, null, null, new ForecastMetrics(new SimpleMeterRegistry()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        offHeapTier.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (CELLS - 1);
+        return next;
+    }
+
+    @Benchmark
+    public GridCell quantize() {
+        int i = nextIndex();
+        return quantizer.quantize(latitudes[i], longitudes[i]);
+    }
+
+    @Benchmark
+    public CachedForecast onHeapHit() {
+        return forecastCache.get(cells[nextIndex()]);
+    }
+
+    @Benchmark
+    public CachedForecast offHeapHit() {
+        return offHeapTier.get(cells[nextIndex()]);
+    }
+
+    /**
+     * Whether a flight recording has the service's events enabled, to keep their cost in check.
+     */
+    @State(Scope.Benchmark)
+    public static class FlightRecording {
+
+        @Param({"off", "on"})
+        public String events;
+
+        private final ForecastRecording recording = new ForecastRecording();
+
+        @Setup(Level.Trial)
+        public void start() {
+            if ("on".equals(events)) {
+                recording.start();
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            recording.close();
+        }
+    }
+
+    @Benchmark
+    public ForecastResult serviceFreshHit(FlightRecording flightRecording) {
+        int i = nextIndex();
+        return weatherService.getForecastResult(latitudes[i], longitudes[i], date, false);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.WeatherApplication.jmh;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Recorded api.weather.gov responses shared with the tests (src/test/resources/fixtures),
+ * which the jmh profile adds to the benchmark classpath.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static byte[] load(String name) {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Fixture not found on the classpath: " + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read fixture " + name, e);
+        }
+    }
+}
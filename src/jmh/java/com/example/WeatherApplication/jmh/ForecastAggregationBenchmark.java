@@ -0,0 +1,64 @@
+package com.example.WeatherApplication.jmh;
+
+import com.example.WeatherApplication.models.CellForecast;
+import com.example.WeatherApplication.models.WeatherForecast;
+import com.example.WeatherApplication.services.Impl.ForecastAssembler;
+import com.example.WeatherApplication.upstream.ForecastPeriod;
+import com.example.WeatherApplication.upstream.ForecastResponseParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The period-aggregation loop run once per upstream fetch ({@code aggregate}), and building
+ * the response for one date from its result, as every request does ({@code toForecast*}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ForecastAggregationBenchmark {
+
+    private List<ForecastPeriod> periods;
+    private CellForecast cellForecast;
+    private LocalDate date;
+
+    @Setup
+    public void setUp() throws IOException {
+        periods = ForecastAssembler.requirePeriods(
+                ForecastResponseParser.parseForecast(new ByteArrayInputStream(Fixtures.load("forecast.json"))));
+        cellForecast = ForecastAssembler.aggregate(periods);
+        date = cellForecast.days().keySet().stream().sorted().skip(1).findFirst().orElseThrow();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public CellForecast aggregate() {
+        return ForecastAssembler.aggregate(periods);
+    }
+
+    @Benchmark
+    public WeatherForecast toForecastImperial() {
+        return ForecastAssembler.toForecast(40.7128, -74.0060, date, false, cellForecast);
+    }
+
+    @Benchmark
+    public WeatherForecast toForecastMetric() {
+        return ForecastAssembler.toForecast(40.7128, -74.0060, date, true, cellForecast);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.WeatherApplication.jmh;
+
+import com.example.WeatherApplication.upstream.ForecastDocument;
+import com.example.WeatherApplication.upstream.ForecastResponseParser;
+import com.example.WeatherApplication.upstream.PointsDocument;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading the recorded upstream payloads with {@link ForecastResponseParser}, as every cache
+ * miss does. {@code forecastAsMap} binds the same bytes to nested maps, the way the service
+ * read them before the streaming parser, as a yardstick.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ForecastParsingBenchmark {
+
+    private final byte[] forecast = Fixtures.load("forecast.json");
+    private final byte[] points = Fixtures.load("points.json");
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Benchmark
+    public ForecastDocument forecast() throws IOException {
+        return ForecastResponseParser.parseForecast(new ByteArrayInputStream(forecast));
+    }
+
+    @Benchmark
+    public PointsDocument points() throws IOException {
+        return ForecastResponseParser.parsePoints(new ByteArrayInputStream(points));
+    }
+
+    @Benchmark
+    public Map<?, ?> forecastAsMap() throws IOException {
+        return objectMapper.readValue(forecast, Map.class);
+    }
+}
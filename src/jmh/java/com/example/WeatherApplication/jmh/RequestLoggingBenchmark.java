@@ -0,0 +1,127 @@
+package com.example.WeatherApplication.jmh;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.example.WeatherApplication.logging.LogRateLimiter;
+import com.example.WeatherApplication.models.GridCell;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the per-request log statements of a forecast fetch cost the request thread, with
+ * four threads logging at once. {@code infoPerRequest} is the former default, both
+ * statements enabled at INFO; {@code debugPerRequest} is what they cost now that they are
+ * at DEBUG under the INFO default. {@code appender} picks how enabled events are written:
+ * {@code sync} formats and writes them under the appender's lock, {@code async} hands them
+ * to the bounded, non-blocking queue of logback-spring.xml and {@code async-limited} adds
+ * its {@link LogRateLimiter}. The console is stood in for by a file flushed on every event.
+ * <p>
+ * With cores to spare, four threads outpace the writer, so with {@code async} the queue
+ * stays full and most events are dropped: the numbers are what a request pays under a log
+ * flood, not a throughput the console could keep up with. On a single core the writer
+ * takes its CPU time from the logging threads and {@code async} costs about what
+ * {@code sync} does; run with {@code -t 1} there.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class RequestLoggingBenchmark {
+
+    // Same as logging.pattern.console in application.properties
+    private static final String PATTERN = "%d{yyyy-MM-dd HH:mm:ss} [%thread] %-5level %logger{36} - %msg%n";
+
+    @Param({"sync", "async", "async-limited"})
+    public String appender;
+
+    private final GridCell cell = new GridCell(1887, -6121, 0.02);
+    private final String forecastUrl = "https://api.weather.gov/gridpoints/MTR/85,105/forecast";
+
+    private LoggerContext context;
+    private Logger logger;
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = new LoggerContext();
+        file = Files.createTempFile("request-logging", ".log");
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        FileAppender<ILoggingEvent> console = new FileAppender<>();
+        console.setContext(context);
+        console.setFile(file.toString());
+        console.setEncoder(encoder);
+        console.start();
+
+        Appender<ILoggingEvent> root = console;
+        if (appender.startsWith("async")) {
+            // As configured in logback-spring.xml
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(1024);
+            async.setDiscardingThreshold(205);
+            async.setNeverBlock(true);
+            async.setIncludeCallerData(false);
+            async.addAppender(console);
+            async.start();
+            root = async;
+        }
+        if (appender.equals("async-limited")) {
+            LogRateLimiter limiter = new LogRateLimiter();
+            limiter.setContext(context);
+            limiter.setLoggerPrefix("com.example.WeatherApplication");
+            limiter.start();
+            context.addTurboFilter(limiter);
+        }
+        Logger rootLogger = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        rootLogger.setLevel(Level.INFO);
+        rootLogger.addAppender(root);
+        logger = context.getLogger("com.example.WeatherApplication.services.Impl.WeatherServiceImpl");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.stop();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void infoPerRequest() {
+        logger.info("Fetching forecast data from: {}", forecastUrl);
+        logger.info("Parsed forecast for cell {} ({} days)", cell, 7);
+    }
+
+    @Benchmark
+    public void debugPerRequest() {
+        logger.debug("Fetching forecast data from: {}", forecastUrl);
+        logger.debug("Parsed forecast for cell {} ({} days)", cell, 7);
+    }
+}
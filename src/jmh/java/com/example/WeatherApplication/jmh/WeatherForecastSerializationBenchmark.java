@@ -0,0 +1,88 @@
+package com.example.WeatherApplication.jmh;
+
+import com.example.WeatherApplication.controllers.WeatherForecastJsonWriter;
+import com.example.WeatherApplication.models.SummaryDictionary;
+import com.example.WeatherApplication.models.Temperature;
+import com.example.WeatherApplication.models.WeatherForecast;
+import com.example.WeatherApplication.models.Wind;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing one forecast response body: the generic Jackson path Spring MVC would otherwise
+ * use, against {@link WeatherForecastJsonWriter} with and without its body cache. Each
+ * invocation uses the next of a set of nearby coordinates, as requests for one cell do.
+ * Run with {@code -prof gc} for the allocation rate per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WeatherForecastSerializationBenchmark {
+
+    private static final int COORDINATES = 64;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    private final WeatherForecastJsonWriter cachingWriter = new WeatherForecastJsonWriter(10_000);
+    private final WeatherForecastJsonWriter uncachedWriter = new WeatherForecastJsonWriter(0);
+    // Stands in for the servlet response stream, which is likewise reused
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+    private WeatherForecast[] forecasts;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        String summary = SummaryDictionary.shared().intern(
+                "Day: Patchy Fog then Mostly Sunny – Night: Mostly Cloudy then Chance Showers And Thunderstorms");
+        forecasts = new WeatherForecast[COORDINATES];
+        for (int i = 0; i < COORDINATES; i++) {
+            forecasts[i] = new WeatherForecast(40.7128 + i * 0.0001, -74.0060 - i * 0.0001, LocalDate.of(2024, 6, 10),
+                    summary, new Temperature(68, 55), new Wind(15, 5, "NW"), 40);
+        }
+    }
+
+    private WeatherForecast nextForecast() {
+        next = (next + 1) & (COORDINATES - 1);
+        return forecasts[next];
+    }
+
+    @Benchmark
+    public int jackson() throws IOException {
+        out.reset();
+        objectMapper.writeValue(out, nextForecast());
+        return out.size();
+    }
+
+    @Benchmark
+    public int handWritten() throws IOException {
+        out.reset();
+        uncachedWriter.writeTo(nextForecast(), out);
+        return out.size();
+    }
+
+    @Benchmark
+    public int handWrittenCachedBody() throws IOException {
+        out.reset();
+        cachingWriter.writeTo(nextForecast(), out);
+        return out.size();
+    }
+}
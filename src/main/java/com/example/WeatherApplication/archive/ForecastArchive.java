@@ -0,0 +1,197 @@
+package com.example.WeatherApplication.archive;
+
+import com.example.WeatherApplication.models.ArchivedForecast;
+import com.example.WeatherApplication.models.CellForecast;
+import com.example.WeatherApplication.models.DailyForecast;
+import com.example.WeatherApplication.models.GridCell;
+import com.example.WeatherApplication.repositories.ArchivedForecastRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only history of every distinct forecast published for a cell. Each fetched
+ * forecast is compared with the one it replaces, and only the dates whose prediction
+ * changed are queued; the queue is written behind in batches like {@code ForecastStore}.
+ * Without a forecast to compare with (the cell was evicted, or the instance restarted), the
+ * dates are compared with their latest archived snapshots when the batch is written.
+ */
+@Component
+public class ForecastArchive implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ForecastArchive.class);
+
+    private final ArchivedForecastRepository repository;
+    // Rows queued without a predecessor are checked against the archive before writing
+    private record Pending(ArchivedForecast row, boolean unverified) {}
+
+    private final Queue<Pending> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong unchanged = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    @Value("${weather.archive.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${weather.archive.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${weather.archive.max-pending:50000}")
+    private int maxPending = 50000;
+
+    @Autowired
+    public ForecastArchive(ArchivedForecastRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Queues the dates of {@code current} that differ from {@code previous} (all of them
+     * when there is no previous forecast, to be checked against the archive on writing).
+     * Never blocks; rows are dropped when the queue is full.
+     */
+    public void record(GridCell cell, CellForecast previous, CellForecast current) {
+        if (!enabled) {
+            return;
+        }
+        Instant now = Instant.now();
+        for (Map.Entry<LocalDate, DailyForecast> day : current.days().entrySet()) {
+            if (previous != null && Objects.equals(previous.forDate(day.getKey()), day.getValue())) {
+                continue;
+            }
+            if (pendingCount.incrementAndGet() > maxPending) {
+                pendingCount.decrementAndGet();
+                dropped.incrementAndGet();
+                continue;
+            }
+            pending.add(new Pending(new ArchivedForecast(cell, day.getKey(), day.getValue(), now), previous == null));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${weather.archive.flush-interval:PT5S}",
+            initialDelayString = "${weather.archive.flush-interval:PT5S}")
+    public void flush() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        Pending row;
+        while ((row = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            batch.add(row);
+            if (batch.size() >= batchSize) {
+                write(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        try {
+            List<ArchivedForecast> rows = withoutUnchanged(batch);
+            if (!rows.isEmpty()) {
+                repository.saveAll(rows);
+            }
+            written.addAndGet(rows.size());
+        } catch (RuntimeException e) {
+            failed.addAndGet(batch.size());
+            logger.warn("Could not archive {} forecast rows: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    // Drops unverified rows that repeat the latest snapshot of their date, archived or
+    // earlier in the batch; one query per cell with unverified rows
+    private List<ArchivedForecast> withoutUnchanged(List<Pending> batch) {
+        Map<String, Set<LocalDate>> unverifiedDates = new HashMap<>();
+        for (Pending row : batch) {
+            if (row.unverified()) {
+                unverifiedDates.computeIfAbsent(row.row().getCellKey(), key -> new HashSet<>())
+                        .add(row.row().getForecastDate());
+            }
+        }
+        Map<String, DailyForecast> latest = new HashMap<>();
+        unverifiedDates.forEach((cellKey, dates) -> {
+            for (ArchivedForecast archived : repository.findLatest(cellKey, dates)) {
+                latest.put(latestKey(archived), archived.toDailyForecast());
+            }
+        });
+
+        List<ArchivedForecast> rows = new ArrayList<>(batch.size());
+        for (Pending row : batch) {
+            DailyForecast day = row.row().toDailyForecast();
+            DailyForecast previous = latest.put(latestKey(row.row()), day);
+            if (row.unverified() && day.equals(previous)) {
+                unchanged.incrementAndGet();
+                continue;
+            }
+            rows.add(row.row());
+        }
+        return rows;
+    }
+
+    private static String latestKey(ArchivedForecast row) {
+        return row.getCellKey() + '/' + row.getForecastDate();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("weather.archive.pending", pendingCount, AtomicInteger::get)
+                .description("Archive rows waiting to be written behind")
+                .register(registry);
+        FunctionCounter.builder("weather.archive.rows", written, AtomicLong::get)
+                .tag("result", "written")
+                .description("Forecast snapshots appended to the archive")
+                .register(registry);
+        FunctionCounter.builder("weather.archive.rows", failed, AtomicLong::get)
+                .tag("result", "failed")
+                .register(registry);
+        FunctionCounter.builder("weather.archive.rows", unchanged, AtomicLong::get)
+                .tag("result", "unchanged")
+                .description("Snapshots without a cached predecessor that repeated the archived one")
+                .register(registry);
+        FunctionCounter.builder("weather.archive.rows", dropped, AtomicLong::get)
+                .tag("result", "dropped")
+                .description("Snapshots not queued because the write-behind queue was full")
+                .register(registry);
+    }
+
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getUnchangedCount() {
+        return unchanged.get();
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.WeatherApplication.cache;
+
+import com.example.WeatherApplication.models.CellForecast;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * A cached cell forecast. It is fresh until {@code expiresAt}; after that the cache may
+ * keep it for a while longer as a fallback (see {@link ForecastCache}). {@code etag} and
+ * {@code lastModified} are the upstream validators, raw header values or null.
+ */
+public record CachedForecast(CellForecast forecast, Instant fetchedAt, Instant expiresAt,
+                             String etag, String lastModified) {
+
+    public boolean hasValidators() {
+        return etag != null || lastModified != null;
+    }
+
+    public boolean isFresh(Instant now) {
+        return now.isBefore(expiresAt);
+    }
+
+    public Duration age(Instant now) {
+        return Duration.between(fetchedAt, now);
+    }
+
+    public Duration lifetime() {
+        return Duration.between(fetchedAt, expiresAt);
+    }
+
+    /**
+     * @return the upstream Last-Modified time, or when the entry was fetched if upstream sent none
+     */
+    public Instant lastModifiedInstant() {
+        if (lastModified != null) {
+            try {
+                return ZonedDateTime.parse(lastModified, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            } catch (DateTimeParseException e) {
+                // Fall through to the fetch time
+            }
+        }
+        return fetchedAt;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.WeatherApplication.cache;
+
+import com.example.WeatherApplication.models.GridCell;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Snaps arbitrary-precision coordinates onto a fixed grid so that jittery GPS fixes
+ * a few metres apart resolve to the same upstream lookup and cache entry.
+ */
+@Component
+public class CoordinateQuantizer {
+
+    // The /points endpoint itself only honours four decimal places
+    static final double MIN_RESOLUTION = 0.0001;
+
+    private final double resolution;
+
+    public CoordinateQuantizer(@Value("${weather.grid.resolution-degrees:0.02}") double resolution) {
+        this.resolution = Math.max(resolution, MIN_RESOLUTION);
+    }
+
+    public GridCell quantize(double lat, double lon) {
+        return new GridCell((int) Math.floor(lat / resolution), (int) Math.floor(lon / resolution), resolution);
+    }
+
+    public double getResolution() {
+        return resolution;
+    }
+}
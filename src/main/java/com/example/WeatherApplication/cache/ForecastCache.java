@@ -0,0 +1,139 @@
+package com.example.WeatherApplication.cache;
+
+import com.example.WeatherApplication.models.CellForecast;
+import com.example.WeatherApplication.models.GridCell;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Parsed forecasts keyed on grid cell; every date and unit system is answered from the one
+ * entry. Each entry is fresh for as long as the upstream response said, and is then kept
+ * for up to {@code max-stale} longer so it can be served while upstream is slow or failing.
+ * That rules out a fixed cache spec.
+ * <p>
+ * With {@code weather.cache.offheap.enabled}, every entry is also written through to the
+ * {@link OffHeapForecastTier}, and on-heap misses are looked up there, so the on-heap
+ * cache only needs to hold the hot set.
+ */
+@Component
+public class ForecastCache {
+
+    public static final String CACHE_NAME = "forecasts";
+
+    private final Cache<GridCell, CachedForecast> cache;
+    private final Duration maxStale;
+    // Null unless the off-heap tier is enabled
+    private final OffHeapForecastTier offHeapTier;
+
+    public ForecastCache(long maximumSize) {
+        this(maximumSize, Duration.ZERO);
+    }
+
+    public ForecastCache(long maximumSize, Duration maxStale) {
+        this(maximumSize, maxStale, (OffHeapForecastTier) null);
+    }
+
+    @Autowired
+    public ForecastCache(@Value("${weather.cache.forecast.maximum-size:50000}") long maximumSize,
+                         @Value("${weather.cache.forecast.max-stale:1h}") Duration maxStale,
+                         ObjectProvider<OffHeapForecastTier> offHeapTier) {
+        this(maximumSize, maxStale, offHeapTier.getIfAvailable());
+    }
+
+    public ForecastCache(long maximumSize, Duration maxStale, OffHeapForecastTier offHeapTier) {
+        this.maxStale = maxStale;
+        this.offHeapTier = offHeapTier;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<GridCell, CachedForecast>() {
+                    @Override
+                    public long expireAfterCreate(GridCell key, CachedForecast value, long currentTime) {
+                        return retainedNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(GridCell key, CachedForecast value, long currentTime, long currentDuration) {
+                        return retainedNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterRead(GridCell key, CachedForecast value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @return the entry, which may be stale: check {@link CachedForecast#isFresh}
+     */
+    public CachedForecast get(GridCell key) {
+        CachedForecast entry = cache.getIfPresent(key);
+        if (entry != null || offHeapTier == null) {
+            return entry;
+        }
+        entry = offHeapTier.get(key);
+        // Past its stale window it is as good as absent; the slot is reused by a later put
+        if (entry == null || retainedNanos(entry) == 0) {
+            return null;
+        }
+        CachedForecast raced = cache.asMap().putIfAbsent(key, entry);
+        return raced != null ? raced : entry;
+    }
+
+    public CachedForecast put(GridCell key, CellForecast forecast, Duration ttl) {
+        return put(key, forecast, ttl, null, null);
+    }
+
+    /**
+     * @return the stored entry, or null if the TTL did not allow caching
+     */
+    public CachedForecast put(GridCell key, CellForecast forecast, Duration ttl, String etag, String lastModified) {
+        // A zero TTL means upstream forbade caching (no-store/no-cache)
+        if (ttl.isZero() || ttl.isNegative()) {
+            return null;
+        }
+        Instant now = Instant.now();
+        CachedForecast entry = new CachedForecast(forecast, now, now.plus(ttl), etag, lastModified);
+        cache.put(key, entry);
+        if (offHeapTier != null) {
+            offHeapTier.put(key, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Puts back an entry loaded from elsewhere (see {@link ForecastStore}) with its original
+     * fetch and expiry times. Never replaces an entry that is already cached.
+     *
+     * @return whether the entry was added
+     */
+    public boolean restore(GridCell key, CachedForecast entry) {
+        if (retainedNanos(entry) == 0) {
+            return false;
+        }
+        return cache.asMap().putIfAbsent(key, entry) == null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Cache<Object, Object> getNativeCache() {
+        return (Cache<Object, Object>) (Cache<?, ?>) cache;
+    }
+
+    public Duration getMaxStale() {
+        return maxStale;
+    }
+
+    private long retainedNanos(CachedForecast value) {
+        return Math.max(0, Duration.between(Instant.now(), value.expiresAt().plus(maxStale)).toNanos());
+    }
+}
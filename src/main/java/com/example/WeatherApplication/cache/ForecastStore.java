@@ -0,0 +1,227 @@
+package com.example.WeatherApplication.cache;
+
+import com.example.WeatherApplication.models.CellForecast;
+import com.example.WeatherApplication.models.DailyForecast;
+import com.example.WeatherApplication.models.ForecastDay;
+import com.example.WeatherApplication.models.GridCell;
+import com.example.WeatherApplication.repositories.ForecastDayRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persistent tier behind {@link ForecastCache}. Fetched forecasts are queued and written
+ * behind in batches, one row per cell and date; at startup the most recently fetched
+ * (and so hottest, given refresh-ahead) entries still within their stale window are loaded
+ * back, so a restarted instance does not send its whole working set upstream at once.
+ */
+@Component
+public class ForecastStore implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ForecastStore.class);
+
+    private final ForecastDayRepository repository;
+    private final ForecastCache forecastCache;
+    private final CoordinateQuantizer coordinateQuantizer;
+    // Latest entry per cell wins: a cell re-fetched before the flush is written once
+    private final ConcurrentMap<GridCell, CachedForecast> pending = new ConcurrentHashMap<>();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rehydrated = new AtomicLong();
+
+    @Value("${weather.cache.forecast.persistent:true}")
+    private boolean enabled = true;
+
+    @Value("${weather.cache.forecast.persistent-batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${weather.cache.forecast.persistent-max-pending:10000}")
+    private int maxPending = 10000;
+
+    @Value("${weather.cache.forecast.persistent-rehydrate-limit:50000}")
+    private int rehydrateLimit = 50000;
+
+    @Autowired
+    public ForecastStore(ForecastDayRepository repository, ForecastCache forecastCache,
+                         CoordinateQuantizer coordinateQuantizer) {
+        this.repository = repository;
+        this.forecastCache = forecastCache;
+        this.coordinateQuantizer = coordinateQuantizer;
+    }
+
+    /**
+     * Queues a cache entry for the next flush. Never blocks: when the queue is full the
+     * entry is dropped, and the cell is persisted again on its next fetch.
+     */
+    public void enqueue(GridCell cell, CachedForecast entry) {
+        if (!enabled) {
+            return;
+        }
+        if (pending.size() >= maxPending && !pending.containsKey(cell)) {
+            dropped.incrementAndGet();
+            return;
+        }
+        pending.put(cell, entry);
+    }
+
+    @Scheduled(fixedDelayString = "${weather.cache.forecast.persistent-flush-interval:PT5S}",
+            initialDelayString = "${weather.cache.forecast.persistent-flush-interval:PT5S}")
+    public void flush() {
+        if (!enabled || pending.isEmpty()) {
+            return;
+        }
+
+        List<ForecastDay> batch = new ArrayList<>(batchSize);
+        int cells = 0;
+        for (GridCell cell : pending.keySet()) {
+            CachedForecast entry = pending.remove(cell);
+            if (entry == null) {
+                continue;
+            }
+            cells++;
+            for (Map.Entry<LocalDate, DailyForecast> day : entry.forecast().days().entrySet()) {
+                batch.add(new ForecastDay(cell, day.getKey(), day.getValue(), entry.fetchedAt(),
+                        entry.expiresAt(), entry.etag(), entry.lastModified()));
+                if (batch.size() >= batchSize) {
+                    write(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+
+        try {
+            // Rows past their stale window can never be served again
+            repository.deleteExpiredBefore(Instant.now().minus(forecastCache.getMaxStale()));
+        } catch (RuntimeException e) {
+            logger.warn("Could not purge expired forecasts: {}", e.getMessage());
+        }
+        logger.debug("Flushed {} cell forecasts to the persistent store", cells);
+    }
+
+    // The store is an optimisation; a failed batch is dropped rather than retried
+    private void write(List<ForecastDay> batch) {
+        try {
+            repository.upsertAll(batch);
+            written.addAndGet(batch.size());
+        } catch (RuntimeException e) {
+            failed.addAndGet(batch.size());
+            logger.warn("Could not persist {} forecast rows: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Runs before the application reports itself ready, so a rolling deploy only routes
+     * traffic to an instance once its cache is warm.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rehydrate() {
+        if (!enabled || rehydrateLimit <= 0) {
+            return;
+        }
+
+        List<ForecastDay> rows;
+        try {
+            rows = repository.findByExpiresAtAfterOrderByFetchedAtDesc(
+                    Instant.now().minus(forecastCache.getMaxStale()), PageRequest.of(0, rehydrateLimit));
+        } catch (RuntimeException e) {
+            logger.warn("Could not load persisted forecasts: {}", e.getMessage());
+            return;
+        }
+
+        // Only the rows of a cell's newest fetch make up its forecast; older rows may still
+        // hold dates the newest fetch no longer covers
+        Map<String, List<ForecastDay>> byCell = new LinkedHashMap<>();
+        for (ForecastDay row : rows) {
+            List<ForecastDay> cellRows = byCell.computeIfAbsent(row.getCellKey(), k -> new ArrayList<>());
+            if (cellRows.isEmpty() || cellRows.get(0).getFetchedAt().equals(row.getFetchedAt())) {
+                cellRows.add(row);
+            }
+        }
+        // The limit may have cut the oldest cell's rows short
+        if (rows.size() >= rehydrateLimit && !byCell.isEmpty()) {
+            byCell.remove(rows.get(rows.size() - 1).getCellKey());
+        }
+
+        int restored = 0;
+        for (List<ForecastDay> cellRows : byCell.values()) {
+            ForecastDay first = cellRows.get(0);
+            GridCell cell = first.toGridCell();
+            // Cells from a different grid resolution would never be looked up
+            if (cell.resolution() != coordinateQuantizer.getResolution()) {
+                continue;
+            }
+            Map<LocalDate, DailyForecast> days = new HashMap<>();
+            for (ForecastDay row : cellRows) {
+                days.put(row.getForecastDate(), row.toDailyForecast());
+            }
+            CachedForecast entry = new CachedForecast(new CellForecast(days), first.getFetchedAt(),
+                    first.getExpiresAt(), first.getEtag(), first.getLastModified());
+            if (forecastCache.restore(cell, entry)) {
+                restored++;
+            }
+        }
+        rehydrated.addAndGet(restored);
+        logger.info("Rehydrated {} cell forecasts from the persistent store", restored);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("weather.cache.forecast.store.pending", pending, Map::size)
+                .description("Cell forecasts waiting to be written behind")
+                .register(registry);
+        FunctionCounter.builder("weather.cache.forecast.store.rows", written, AtomicLong::get)
+                .tag("result", "written")
+                .description("Forecast rows written to the persistent store")
+                .register(registry);
+        FunctionCounter.builder("weather.cache.forecast.store.rows", failed, AtomicLong::get)
+                .tag("result", "failed")
+                .register(registry);
+        FunctionCounter.builder("weather.cache.forecast.store.cells", dropped, AtomicLong::get)
+                .tag("result", "dropped")
+                .description("Cell forecasts not queued because the write-behind queue was full")
+                .register(registry);
+        FunctionCounter.builder("weather.cache.forecast.store.cells", rehydrated, AtomicLong::get)
+                .tag("result", "rehydrated")
+                .description("Cell forecasts loaded into the cache at startup")
+                .register(registry);
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.WeatherApplication.cache;
+
+import com.example.WeatherApplication.models.GridCell;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Approximate per-cell request frequency. Counts are halved on every {@link #decay()}, so
+ * they favour recent traffic, and cells that fall to zero stop being tracked.
+ */
+@Component
+public class HotCellTracker {
+
+    private final ConcurrentMap<GridCell, LongAdder> counts = new ConcurrentHashMap<>();
+    private final int maxTrackedCells;
+
+    public HotCellTracker(@Value("${weather.cache.refresh.max-tracked-cells:100000}") int maxTrackedCells) {
+        this.maxTrackedCells = maxTrackedCells;
+    }
+
+    public void record(GridCell cell) {
+        LongAdder count = counts.get(cell);
+        if (count == null) {
+            // New cells are ignored once full; decay frees room for them again
+            if (counts.size() >= maxTrackedCells) {
+                return;
+            }
+            count = counts.computeIfAbsent(cell, c -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    /**
+     * @return up to {@code limit} cells, most frequently requested first
+     */
+    public List<GridCell> hottest(int limit) {
+        return counts.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                .sorted(Map.Entry.<GridCell, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    public void decay() {
+        counts.entrySet().removeIf(entry -> {
+            LongAdder count = entry.getValue();
+            long current = count.sumThenReset();
+            count.add(current / 2);
+            return current / 2 == 0;
+        });
+    }
+
+    public int getTrackedCount() {
+        return counts.size();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.WeatherApplication.cache;
+
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Derives a cache lifetime from upstream {@code Cache-Control} / {@code Expires} headers.
+ */
+public final class HttpCacheTtl {
+
+    private HttpCacheTtl() {
+    }
+
+    /**
+     * @return the lifetime advertised by the headers, {@code defaultTtl} when they say
+     * nothing, {@link Duration#ZERO} when caching is forbidden, never more than {@code maxTtl}
+     */
+    public static Duration fromHeaders(HttpHeaders headers, Duration defaultTtl, Duration maxTtl) {
+        Duration ttl = defaultTtl;
+        if (headers != null) {
+            Duration fromCacheControl = parseCacheControl(headers.getCacheControl());
+            if (fromCacheControl != null) {
+                ttl = fromCacheControl;
+            } else if (headers.getExpires() > 0) {
+                long date = headers.getDate() > 0 ? headers.getDate() : System.currentTimeMillis();
+                ttl = Duration.ofMillis(Math.max(0, headers.getExpires() - date));
+            }
+        }
+        return ttl.compareTo(maxTtl) > 0 ? maxTtl : ttl;
+    }
+
+    private static Duration parseCacheControl(String cacheControl) {
+        if (cacheControl == null || cacheControl.isBlank()) {
+            return null;
+        }
+        Duration maxAge = null;
+        for (String directive : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+            String d = directive.trim();
+            if (d.equals("no-store") || d.equals("no-cache")) {
+                return Duration.ZERO;
+            }
+            // s-maxage takes precedence over max-age for shared caches like this one
+            if (d.startsWith("s-maxage=")) {
+                Duration sMaxAge = parseSeconds(d.substring("s-maxage=".length()));
+                if (sMaxAge != null) {
+                    return sMaxAge;
+                }
+            } else if (d.startsWith("max-age=")) {
+                maxAge = parseSeconds(d.substring("max-age=".length()));
+            }
+        }
+        return maxAge;
+    }
+
+    private static Duration parseSeconds(String value) {
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.replace("\"", "").trim())));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,404 @@
+package com.example.WeatherApplication.cache;
+
+import com.example.WeatherApplication.models.CellForecast;
+import com.example.WeatherApplication.models.DailyForecast;
+import com.example.WeatherApplication.models.GridCell;
+import com.example.WeatherApplication.models.SummaryDictionary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Second cache tier for cells that do not fit the on-heap {@link ForecastCache}: a
+ * memory-mapped file of fixed-size slots holding only primitives, with summaries
+ * dictionary-encoded by {@link SummaryDictionary}. Nothing but the mapping itself lives on
+ * the heap, so GC cost does not grow with the number of cells, and the file (and with it
+ * the tier) survives a restart.
+ * <p>
+ * Slots form an open-addressing table keyed on the cell indexes, probed linearly for up to
+ * {@value #MAX_PROBES} slots; when all of them are taken, the entry expiring first is
+ * overwritten. Writes are serialized; reads take no lock and instead retry while a slot's
+ * version shows a write in progress (a seqlock).
+ * <p>
+ * One process at a time owns the file and its summary dictionary, through an exclusive
+ * lock held until {@link #close}. Another instance started on the same path, such as the
+ * new half of a rolling deploy, finds it locked and runs with this tier disabled rather
+ * than remapping or resetting a file that is in use, or assigning summary ids of its own.
+ */
+@Component
+@ConditionalOnProperty(name = "weather.cache.offheap.enabled", havingValue = "true")
+public class OffHeapForecastTier implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(OffHeapForecastTier.class);
+
+    private static final int MAGIC = 0x57464331; // "WFC1"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 4096;
+    static final int MAX_PROBES = 8;
+    private static final int MAX_READ_ATTEMPTS = 10_000;
+    static final int MAX_DAYS = 10;
+    static final int MAX_ETAG_LENGTH = 56;
+
+    // Slot layout; the version int at offset 0 is odd while the slot is being written
+    private static final int VERSION = 0;
+    private static final int LAT_INDEX = 4;
+    private static final int LON_INDEX = 8;
+    private static final int DAY_COUNT = 12;
+    private static final int ETAG_LENGTH = 14;
+    private static final int FETCHED_AT = 16;
+    private static final int EXPIRES_AT = 24;
+    private static final int LAST_MODIFIED = 32;
+    private static final int ETAG = 40;
+    private static final int DAYS = ETAG + MAX_ETAG_LENGTH;
+    // epochDay int, four temperature/wind shorts, summary id int, precipitation byte
+    private static final int DAY_SIZE = 24;
+    static final int SLOT_SIZE = DAYS + MAX_DAYS * DAY_SIZE;
+
+    // Each mapping stays well under the 2 GB limit of a single MappedByteBuffer
+    private static final int SLOTS_PER_SEGMENT_BITS = 20;
+    private static final int SLOTS_PER_SEGMENT = 1 << SLOTS_PER_SEGMENT_BITS;
+
+    private static final VarHandle INT_VIEW = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+    private static final long NO_LAST_MODIFIED = Long.MIN_VALUE;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final int slotCount;
+    private final double resolution;
+    private final SummaryDictionary dictionary;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    @Autowired
+    public OffHeapForecastTier(@Value("${weather.cache.offheap.path:./data/forecast-tier.dat}") Path path,
+                               @Value("${weather.cache.offheap.slots:1048576}") int slots,
+                               @Value("${weather.cache.offheap.max-summaries:100000}") int maxSummaries,
+                               CoordinateQuantizer coordinateQuantizer) {
+        this.slotCount = Integer.highestOneBit(Math.max(slots, MAX_PROBES) - 1) << 1;
+        this.resolution = coordinateQuantizer.getResolution();
+        Path dictionaryPath = path.resolveSibling(path.getFileName() + ".summaries");
+        FileChannel opened = null;
+        try {
+            if (path.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(path.toAbsolutePath().getParent());
+            }
+            opened = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (tryLock(opened) == null) {
+                logger.warn("Off-heap forecast tier {} is in use by another process; caching on-heap only", path);
+                opened.close();
+                this.channel = null;
+                this.segments = null;
+                this.dictionary = null;
+                return;
+            }
+            MappedByteBuffer header = opened.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            if (!headerMatches(header)) {
+                // Written under another layout, size or grid: start empty rather than misread it
+                logger.info("Initialising off-heap forecast tier {} with {} slots", path, slotCount);
+                opened.truncate(0);
+                Files.deleteIfExists(dictionaryPath);
+                header = opened.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+                header.putInt(0, MAGIC).putInt(4, FORMAT_VERSION).putInt(8, slotCount).putInt(12, SLOT_SIZE)
+                        .putDouble(16, resolution);
+            }
+            int segmentCount = (slotCount + SLOTS_PER_SEGMENT - 1) / SLOTS_PER_SEGMENT;
+            this.segments = new MappedByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long slotsInSegment = Math.min(SLOTS_PER_SEGMENT, slotCount - (long) i * SLOTS_PER_SEGMENT);
+                // Mapping past the end grows the file sparsely; untouched slots cost no disk or memory
+                segments[i] = opened.map(FileChannel.MapMode.READ_WRITE,
+                        HEADER_SIZE + (long) i * SLOTS_PER_SEGMENT * SLOT_SIZE, slotsInSegment * SLOT_SIZE);
+                segments[i].order(ByteOrder.nativeOrder());
+            }
+        } catch (IOException e) {
+            closeQuietly(opened);
+            throw new UncheckedIOException("Could not open off-heap forecast tier " + path, e);
+        }
+        this.channel = opened;
+        this.dictionary = new SummaryDictionary(dictionaryPath, maxSummaries);
+    }
+
+    // Held until the channel closes. Another process gets null; this one, an overlapping-lock error
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            return null;
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Already failing with the original error
+            }
+        }
+    }
+
+    private boolean headerMatches(MappedByteBuffer header) {
+        return header.getInt(0) == MAGIC && header.getInt(4) == FORMAT_VERSION && header.getInt(8) == slotCount
+                && header.getInt(12) == SLOT_SIZE && header.getDouble(16) == resolution;
+    }
+
+    /**
+     * @return the stored entry for {@code cell}, which may be stale or already expired, or null
+     */
+    public CachedForecast get(GridCell cell) {
+        if (segments == null || cell.resolution() != resolution) {
+            return null;
+        }
+        int home = home(cell);
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            int slot = (home + probe) & (slotCount - 1);
+            MappedByteBuffer segment = segments[slot >>> SLOTS_PER_SEGMENT_BITS];
+            int base = (slot & (SLOTS_PER_SEGMENT - 1)) * SLOT_SIZE;
+            for (int attempt = 0; ; attempt++) {
+                int version = (int) INT_VIEW.getAcquire(segment, base + VERSION);
+                if ((version & 1) != 0) {
+                    // Writes take microseconds; a slot that stays odd was torn by a crash
+                    if (attempt >= MAX_READ_ATTEMPTS) {
+                        misses.increment();
+                        return null;
+                    }
+                    Thread.onSpinWait();
+                    continue;
+                }
+                if (segment.getLong(base + FETCHED_AT) == 0) {
+                    // Slots are never cleared, so an empty one ends the probe sequence
+                    misses.increment();
+                    return null;
+                }
+                boolean matches = segment.getInt(base + LAT_INDEX) == cell.latIndex()
+                        && segment.getInt(base + LON_INDEX) == cell.lonIndex();
+                CachedForecast entry = matches ? read(segment, base) : null;
+                VarHandle.loadLoadFence();
+                if ((int) INT_VIEW.getOpaque(segment, base + VERSION) != version) {
+                    continue;
+                }
+                if (!matches) {
+                    break;
+                }
+                if (entry == null) {
+                    misses.increment();
+                    return null;
+                }
+                hits.increment();
+                return entry;
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Stores {@code entry}, replacing any previous entry for the cell. Forecasts with more
+     * than {@value #MAX_DAYS} dates keep the earliest ones.
+     */
+    public synchronized void put(GridCell cell, CachedForecast entry) {
+        if (segments == null || cell.resolution() != resolution) {
+            return;
+        }
+        int[] summaryIds;
+        LocalDate[] dates = entry.forecast().days().keySet().stream().sorted().limit(MAX_DAYS).toArray(LocalDate[]::new);
+        try {
+            summaryIds = new int[dates.length];
+            for (int i = 0; i < dates.length; i++) {
+                String summary = entry.forecast().forDate(dates[i]).summary();
+                summaryIds[i] = dictionary.idOf(summary);
+                // Full dictionary: storing NONE would read back as a forecast without its summary
+                if (summaryIds[i] == SummaryDictionary.NONE && summary != null) {
+                    skipped.increment();
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            skipped.increment();
+            logger.warn("Could not store cell {} off-heap: {}", cell, e.getMessage());
+            return;
+        }
+
+        int slot = chooseSlot(cell);
+        MappedByteBuffer segment = segments[slot >>> SLOTS_PER_SEGMENT_BITS];
+        int base = (slot & (SLOTS_PER_SEGMENT - 1)) * SLOT_SIZE;
+
+        // Odd while writing, even once done, whatever state a crash left the slot in
+        int writing = ((int) INT_VIEW.getOpaque(segment, base + VERSION) + 1) | 1;
+        INT_VIEW.setOpaque(segment, base + VERSION, writing);
+        VarHandle.storeStoreFence();
+
+        segment.putInt(base + LAT_INDEX, cell.latIndex());
+        segment.putInt(base + LON_INDEX, cell.lonIndex());
+        segment.putShort(base + DAY_COUNT, (short) dates.length);
+        segment.putLong(base + FETCHED_AT, entry.fetchedAt().toEpochMilli());
+        segment.putLong(base + EXPIRES_AT, entry.expiresAt().toEpochMilli());
+        segment.putLong(base + LAST_MODIFIED, lastModifiedSeconds(entry.lastModified()));
+        byte[] etag = entry.etag() != null ? entry.etag().getBytes(StandardCharsets.US_ASCII) : new byte[0];
+        // An ETag that does not fit is dropped; the next fetch is then unconditional
+        int etagLength = etag.length <= MAX_ETAG_LENGTH ? etag.length : 0;
+        segment.putShort(base + ETAG_LENGTH, (short) etagLength);
+        segment.put(base + ETAG, etag, 0, etagLength);
+        for (int i = 0; i < dates.length; i++) {
+            DailyForecast day = entry.forecast().forDate(dates[i]);
+            int offset = base + DAYS + i * DAY_SIZE;
+            segment.putInt(offset, (int) dates[i].toEpochDay());
+            segment.putShort(offset + 4, (short) day.minTemperature());
+            segment.putShort(offset + 6, (short) day.maxTemperature());
+            segment.putShort(offset + 8, (short) day.minWindSpeed());
+            segment.putShort(offset + 10, (short) day.maxWindSpeed());
+            segment.putInt(offset + 12, summaryIds[i]);
+            segment.put(offset + 16, (byte) day.probabilityOfPrecipitation());
+        }
+
+        INT_VIEW.setRelease(segment, base + VERSION, writing + 1);
+        writes.increment();
+    }
+
+    // The cell's own slot if it has one, else the first empty one, else the one expiring first
+    private int chooseSlot(GridCell cell) {
+        int home = home(cell);
+        int empty = -1;
+        int victim = home;
+        long victimExpiry = Long.MAX_VALUE;
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            int slot = (home + probe) & (slotCount - 1);
+            MappedByteBuffer segment = segments[slot >>> SLOTS_PER_SEGMENT_BITS];
+            int base = (slot & (SLOTS_PER_SEGMENT - 1)) * SLOT_SIZE;
+            if (segment.getLong(base + FETCHED_AT) == 0) {
+                if (empty < 0) {
+                    empty = slot;
+                }
+                continue;
+            }
+            if (segment.getInt(base + LAT_INDEX) == cell.latIndex() && segment.getInt(base + LON_INDEX) == cell.lonIndex()) {
+                return slot;
+            }
+            long expiresAt = segment.getLong(base + EXPIRES_AT);
+            if (expiresAt < victimExpiry) {
+                victim = slot;
+                victimExpiry = expiresAt;
+            }
+        }
+        return empty >= 0 ? empty : victim;
+    }
+
+    private CachedForecast read(MappedByteBuffer segment, int base) {
+        int dayCount = segment.getShort(base + DAY_COUNT);
+        int etagLength = segment.getShort(base + ETAG_LENGTH);
+        // Torn or foreign data; the caller's version check decides whether to retry
+        if (dayCount < 0 || dayCount > MAX_DAYS || etagLength < 0 || etagLength > MAX_ETAG_LENGTH) {
+            return null;
+        }
+        Map<LocalDate, DailyForecast> days = new HashMap<>(dayCount * 2);
+        for (int i = 0; i < dayCount; i++) {
+            int offset = base + DAYS + i * DAY_SIZE;
+            String summary = dictionary.get(segment.getInt(offset + 12));
+            days.put(LocalDate.ofEpochDay(segment.getInt(offset)), new DailyForecast(
+                    segment.getShort(offset + 4), segment.getShort(offset + 6),
+                    segment.getShort(offset + 8), segment.getShort(offset + 10),
+                    summary, segment.get(offset + 16)));
+        }
+        String etag = null;
+        if (etagLength > 0) {
+            byte[] bytes = new byte[etagLength];
+            segment.get(base + ETAG, bytes);
+            etag = new String(bytes, StandardCharsets.US_ASCII);
+        }
+        long lastModified = segment.getLong(base + LAST_MODIFIED);
+        return new CachedForecast(new CellForecast(days),
+                Instant.ofEpochMilli(segment.getLong(base + FETCHED_AT)),
+                Instant.ofEpochMilli(segment.getLong(base + EXPIRES_AT)),
+                etag,
+                lastModified == NO_LAST_MODIFIED ? null
+                        : DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochSecond(lastModified).atOffset(ZoneOffset.UTC)));
+    }
+
+    // Last-Modified is an HTTP date, so it round-trips through epoch seconds
+    private static long lastModifiedSeconds(String lastModified) {
+        if (lastModified == null) {
+            return NO_LAST_MODIFIED;
+        }
+        try {
+            return ZonedDateTime.parse(lastModified, DateTimeFormatter.RFC_1123_DATE_TIME).toEpochSecond();
+        } catch (DateTimeParseException e) {
+            return NO_LAST_MODIFIED;
+        }
+    }
+
+    private int home(GridCell cell) {
+        long h = cell.latIndex() * 0x9E3779B97F4A7C15L + cell.lonIndex();
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h & (slotCount - 1);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (segments == null) {
+            return;
+        }
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+        channel.close();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("weather.cache.offheap.requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .description("Lookups in the off-heap tier after an on-heap miss")
+                .register(registry);
+        FunctionCounter.builder("weather.cache.offheap.requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("weather.cache.offheap.writes", writes, LongAdder::sum)
+                .register(registry);
+        FunctionCounter.builder("weather.cache.offheap.skipped", skipped, LongAdder::sum)
+                .description("Entries not stored because their summaries could not be encoded, e.g. with the dictionary full")
+                .register(registry);
+        if (dictionary != null) {
+            Gauge.builder("weather.cache.offheap.summaries", dictionary, SummaryDictionary::size)
+                    .register(registry);
+        }
+    }
+
+    public int getSlotCount() {
+        return slotCount;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.WeatherApplication.cache;
+
+import com.example.WeatherApplication.metrics.CoalescedWaitEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution: while a load for a key is in flight, concurrent callers for
+ * the same key wait for it instead of starting their own, and all of them observe the
+ * same result or the same failure.
+ */
+public class RequestCoalescer<K, V> implements MeterBinder {
+
+    private final String name;
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong leaders = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    public RequestCoalescer(String name) {
+        this.name = name;
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            CoalescedWaitEvent event = new CoalescedWaitEvent();
+            event.begin();
+            try {
+                return await(existing);
+            } finally {
+                if (event.shouldCommit()) {
+                    event.coalescer = name;
+                    event.key = String.valueOf(key);
+                    event.commit();
+                }
+            }
+        }
+
+        leaders.incrementAndGet();
+        try {
+            V value = loader.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    public long getLeaderCount() {
+        return leaders.get();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("weather.coalescer.requests", leaders, AtomicLong::get)
+                .tag("name", name).tag("result", "leader")
+                .description("Requests that triggered an upstream load")
+                .register(registry);
+        FunctionCounter.builder("weather.coalescer.requests", coalesced, AtomicLong::get)
+                .tag("name", name).tag("result", "coalesced")
+                .description("Requests that joined a load already in flight")
+                .register(registry);
+        Gauge.builder("weather.coalescer.in-flight", inFlight, ConcurrentMap::size)
+                .tag("name", name)
+                .register(registry);
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an in-flight request", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+}
@@ -1,31 +1,124 @@
 package com.example.WeatherApplication.config;
 
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactoryBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.ClientHttpRequestFactory;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
-import java.time.Duration;
+import javax.net.ssl.SSLContext;
+import java.net.http.HttpClient;
+import java.security.GeneralSecurityException;
 
 @Configuration
+@EnableConfigurationProperties({WeatherHttpProperties.class, UpstreamResilienceProperties.class})
 public class AppConfig {
 
+    private final WeatherHttpProperties httpProperties;
+
+    @Autowired
+    public AppConfig(WeatherHttpProperties httpProperties) {
+        this.httpProperties = httpProperties;
+    }
+
     @Bean
     public RestTemplate restTemplate(RestTemplateBuilder builder) {
+        // Timeouts live on the request factory so they are configured in exactly one place
         return builder
-                .setConnectTimeout(Duration.ofSeconds(10))
-                .setReadTimeout(Duration.ofSeconds(10))
                 .requestFactory(this::clientHttpRequestFactory)
                 .build();
     }
 
+    /**
+     * Shared pooled client. Declared as a bean so the pool is closed on shutdown.
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient weatherHttpClient() {
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(httpProperties.getConnectTimeout()))
+                .setSocketTimeout(Timeout.of(httpProperties.getReadTimeout()))
+                .setTimeToLive(TimeValue.of(httpProperties.getConnectionTimeToLive()))
+                .setValidateAfterInactivity(TimeValue.of(httpProperties.getValidateAfterInactivity()))
+                .build();
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(httpProperties.getMaxConnections())
+                .setMaxConnPerRoute(httpProperties.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(connectionConfig)
+                .setSSLSocketFactory(SSLConnectionSocketFactoryBuilder.create()
+                        .setSslContext(sslContext())
+                        .build())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setResponseTimeout(Timeout.of(httpProperties.getReadTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(httpProperties.getIdleEviction()))
+                .build();
+    }
+
+    /**
+     * Runs upstream attempts when hedging is enabled, so the request thread can wait with a
+     * deadline. No queue: when every thread is busy, the caller just makes the call itself.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor upstreamHedgeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(httpProperties.getMaxConnections());
+        executor.setMaxPoolSize(httpProperties.getMaxConnections());
+        executor.setQueueCapacity(0);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix("upstream-");
+        return executor;
+    }
+
     private ClientHttpRequestFactory clientHttpRequestFactory() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(10000); // 10 seconds
-        factory.setReadTimeout(10000);    // 10 seconds
-        // Removed deprecated method call
-        return factory;
+        if (httpProperties.getClient() == WeatherHttpProperties.ClientType.JDK) {
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(httpProperties.getConnectTimeout())
+                    .sslContext(sslContext())
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .build();
+            JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+            factory.setReadTimeout(httpProperties.getReadTimeout());
+            return factory;
+        }
+        return new HttpComponentsClientHttpRequestFactory(weatherHttpClient());
+    }
+
+    /**
+     * Client TLS sessions are cached per host so reconnects after idle eviction can
+     * resume the session instead of paying for a full handshake. The context is the upstream
+     * client's own, with the JVM's default key and trust material, so the session settings
+     * leave every other TLS client in the process alone.
+     */
+    SSLContext sslContext() {
+        try {
+            SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(null, null, null);
+            sslContext.getClientSessionContext().setSessionCacheSize(httpProperties.getTlsSessionCacheSize());
+            sslContext.getClientSessionContext().setSessionTimeout((int) httpProperties.getTlsSessionTimeout().toSeconds());
+            return sslContext;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("TLS context is unavailable", e);
+        }
     }
 }
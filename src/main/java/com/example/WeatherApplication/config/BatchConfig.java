@@ -0,0 +1,30 @@
+package com.example.WeatherApplication.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class BatchConfig {
+
+    /**
+     * Shared by all batch requests, so the pool size caps the total number of upstream
+     * fetches batches can have in flight, not just the fan-out of a single batch. Fetches
+     * beyond the queue capacity are rejected, and fail just their own coordinates.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor batchForecastExecutor(@Value("${weather.batch.parallelism:16}") int parallelism,
+                                                        @Value("${weather.batch.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setThreadNamePrefix("batch-forecast-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
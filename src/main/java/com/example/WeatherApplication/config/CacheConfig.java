@@ -0,0 +1,56 @@
+package com.example.WeatherApplication.config;
+
+import com.example.WeatherApplication.cache.ForecastCache;
+import com.example.WeatherApplication.cache.RequestCoalescer;
+import com.example.WeatherApplication.models.CellForecast;
+import com.example.WeatherApplication.models.GridCell;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Enables Spring's cache abstraction. The cache manager itself is auto-configured
+ * from the {@code spring.cache.*} properties (Caffeine, W-TinyLFU eviction).
+ */
+@Configuration
+@EnableCaching
+@EnableScheduling
+public class CacheConfig {
+
+    public static final String GRID_POINTS_CACHE = "gridPoints";
+
+    /**
+     * The forecast cache uses per-entry expiry, so it is built by {@link ForecastCache}
+     * and only registered here to get the same actuator cache metrics as the others.
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> forecastCacheRegistration(ForecastCache forecastCache) {
+        return cacheManager -> cacheManager.registerCustomCache(ForecastCache.CACHE_NAME, forecastCache.getNativeCache());
+    }
+
+    /**
+     * Collapses concurrent cache misses for the same grid cell into one upstream fetch.
+     */
+    @Bean
+    public RequestCoalescer<GridCell, CellForecast> forecastRequestCoalescer() {
+        return new RequestCoalescer<>(ForecastCache.CACHE_NAME);
+    }
+
+    /**
+     * Runs refresh-ahead fetches off the scheduler thread. Kept small: the refresh rate is
+     * bounded by weather.cache.refresh.max-per-second anyway.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor forecastRefreshExecutor(@Value("${weather.cache.refresh.parallelism:4}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setThreadNamePrefix("forecast-refresh-");
+        return executor;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.WeatherApplication.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Non-blocking upstream client for {@code weather.execution-mode=reactive}. Requests wait
+ * on the reactor-netty event loop instead of pinning a servlet thread per upstream call.
+ */
+@Configuration
+@ConditionalOnProperty(name = "weather.execution-mode", havingValue = "reactive")
+public class ReactiveConfig {
+
+    @Bean
+    public WebClient weatherWebClient(WebClient.Builder builder, WeatherHttpProperties httpProperties) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("weather-upstream")
+                .maxConnections(httpProperties.getMaxConnections())
+                .maxIdleTime(httpProperties.getIdleEviction())
+                .maxLifeTime(httpProperties.getConnectionTimeToLive())
+                .evictInBackground(httpProperties.getIdleEviction())
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) httpProperties.getConnectTimeout().toMillis())
+                .responseTimeout(httpProperties.getReadTimeout())
+                .followRedirect(true);
+
+        return builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
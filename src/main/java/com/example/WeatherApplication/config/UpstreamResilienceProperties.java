@@ -0,0 +1,192 @@
+package com.example.WeatherApplication.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker and adaptive concurrency limit settings for upstream calls
+ * ({@code weather.upstream.*}).
+ */
+@ConfigurationProperties(prefix = "weather.upstream")
+public class UpstreamResilienceProperties {
+
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private final Concurrency concurrency = new Concurrency();
+    private final Hedging hedging = new Hedging();
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Concurrency getConcurrency() {
+        return concurrency;
+    }
+
+    public Hedging getHedging() {
+        return hedging;
+    }
+
+    public static class CircuitBreaker {
+        /** Fraction of failed calls in the window that opens the circuit. */
+        private double failureRateThreshold = 0.5;
+        /** Number of most recent calls the failure rate is computed over. */
+        private int windowSize = 50;
+        /** Calls needed in the window before the failure rate is evaluated. */
+        private int minimumCalls = 20;
+        /** How long the circuit stays open before letting trial calls through. */
+        private Duration openDuration = Duration.ofSeconds(30);
+        /** Trial calls that must all succeed to close the circuit again. */
+        private int halfOpenCalls = 5;
+
+        public double getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(double failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public int getWindowSize() {
+            return windowSize;
+        }
+
+        public void setWindowSize(int windowSize) {
+            this.windowSize = windowSize;
+        }
+
+        public int getMinimumCalls() {
+            return minimumCalls;
+        }
+
+        public void setMinimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+        }
+
+        public Duration getOpenDuration() {
+            return openDuration;
+        }
+
+        public void setOpenDuration(Duration openDuration) {
+            this.openDuration = openDuration;
+        }
+
+        public int getHalfOpenCalls() {
+            return halfOpenCalls;
+        }
+
+        public void setHalfOpenCalls(int halfOpenCalls) {
+            this.halfOpenCalls = halfOpenCalls;
+        }
+    }
+
+    public static class Concurrency {
+        private int initialLimit = 20;
+        private int minLimit = 2;
+        private int maxLimit = 200;
+        /** Multiplier applied to the limit on a failure or a latency spike. */
+        private double backoffRatio = 0.9;
+        /** A call slower than this multiple of the best observed latency counts as congestion. */
+        private double latencyTolerance = 2.0;
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public double getBackoffRatio() {
+            return backoffRatio;
+        }
+
+        public void setBackoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+        }
+
+        public double getLatencyTolerance() {
+            return latencyTolerance;
+        }
+
+        public void setLatencyTolerance(double latencyTolerance) {
+            this.latencyTolerance = latencyTolerance;
+        }
+    }
+
+    public static class Hedging {
+        private boolean enabled = false;
+        /** Latency percentile after which a hedged request is sent. */
+        private double percentile = 0.95;
+        /** Hedges may add at most this fraction of extra upstream requests. */
+        private double maxExtraLoad = 0.1;
+        /** Never hedge sooner than this, whatever the percentile says. */
+        private Duration minDelay = Duration.ofMillis(50);
+        private int windowSize = 1000;
+        private int minimumSamples = 50;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        public double getMaxExtraLoad() {
+            return maxExtraLoad;
+        }
+
+        public void setMaxExtraLoad(double maxExtraLoad) {
+            this.maxExtraLoad = maxExtraLoad;
+        }
+
+        public Duration getMinDelay() {
+            return minDelay;
+        }
+
+        public void setMinDelay(Duration minDelay) {
+            this.minDelay = minDelay;
+        }
+
+        public int getWindowSize() {
+            return windowSize;
+        }
+
+        public void setWindowSize(int windowSize) {
+            this.windowSize = windowSize;
+        }
+
+        public int getMinimumSamples() {
+            return minimumSamples;
+        }
+
+        public void setMinimumSamples(int minimumSamples) {
+            this.minimumSamples = minimumSamples;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.WeatherApplication.config;
+
+import com.example.WeatherApplication.controllers.WeatherForecastJsonWriter;
+import com.example.WeatherApplication.controllers.WeatherForecastMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Puts the dedicated {@code WeatherForecast} converter ahead of Jackson; every other
+ * response type still goes through Jackson.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Value("${weather.serialization.body-cache-size:10000}")
+    private long serializedBodyCacheSize = 10000;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new WeatherForecastMessageConverter(new WeatherForecastJsonWriter(serializedBodyCacheSize)));
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.WeatherApplication.controllers;
+import com.example.WeatherApplication.models.ForecastHistory;
+import com.example.WeatherApplication.services.ForecastHistoryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+
+/**
+ * Archived forecasts for a location. Both execution modes archive what they fetch, and
+ * history is served from the database only, so it is available in either.
+ */
+@RestController
+@RequestMapping("/weather")
+public class ForecastHistoryController
+{
+
+
+    private final ForecastHistoryService forecastHistoryService;
+
+    @Autowired
+    public ForecastHistoryController(ForecastHistoryService forecastHistoryService) {
+        this.forecastHistoryService = forecastHistoryService;
+    }
+
+    @GetMapping("/history/{lat},{lon}")
+    public ResponseEntity<ForecastHistory> getHistory(
+            @PathVariable double lat,
+            @PathVariable double lon,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false, defaultValue = "false") boolean metric
+    ) {
+        // Input validation
+        if (lat < -90 || lat > 90) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Latitude must be between -90 and 90 degrees");
+        }
+        if (lon < -180 || lon > 180) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Longitude must be between -180 and 180 degrees");
+        }
+
+        try {
+            return ResponseEntity.ok(forecastHistoryService.getHistory(lat, lon, from, to, metric));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.WeatherApplication.controllers;
+import com.example.WeatherApplication.models.WeatherForecast;
+import com.example.WeatherApplication.services.ReactiveWeatherService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Serves the same API as {@link WeatherController} when {@code weather.execution-mode=reactive}.
+ * The request thread is released as soon as the {@link Mono} is returned.
+ */
+@RestController
+@RequestMapping("/weather")
+@ConditionalOnProperty(name = "weather.execution-mode", havingValue = "reactive")
+public class ReactiveWeatherController
+{
+
+
+    private final ReactiveWeatherService reactiveWeatherService;
+
+    @Autowired
+    public ReactiveWeatherController(ReactiveWeatherService reactiveWeatherService) {
+        this.reactiveWeatherService = reactiveWeatherService;
+    }
+
+    @GetMapping("/forecast/{lat},{lon}")
+    public Mono<ResponseEntity<WeatherForecast>> getForecast(
+            @PathVariable double lat,
+            @PathVariable double lon,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false, defaultValue = "false") boolean metric
+    ) {
+        // Input validation
+        if (lat < -90 || lat > 90) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Latitude must be between -90 and 90 degrees");
+        }
+        if (lon < -180 || lon > 180) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Longitude must be between -180 and 180 degrees");
+        }
+
+        return reactiveWeatherService.getForecast(lat, lon, date, metric)
+                .map(ResponseEntity::ok)
+                .onErrorMap(e -> new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error fetching weather data: " + e.getMessage(), e));
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<String> handleExceptions(Exception e) {
+        return ResponseEntity
+                .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("An error occurred: " + e.getMessage());
+    }
+}
@@ -1,26 +1,43 @@
 package com.example.WeatherApplication.controllers;
+import com.example.WeatherApplication.models.BatchForecastResult;
+import com.example.WeatherApplication.models.Coordinate;
+import com.example.WeatherApplication.models.ForecastResult;
 import com.example.WeatherApplication.models.WeatherForecast;
+import com.example.WeatherApplication.resilience.UpstreamRejectedException;
+import com.example.WeatherApplication.services.BatchForecastService;
 import com.example.WeatherApplication.services.WeatherService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
 
 @RestController
 @RequestMapping("/weather")
+@ConditionalOnProperty(name = "weather.execution-mode", havingValue = "blocking", matchIfMissing = true)
 public class WeatherController
 {
 
 
     private final WeatherService weatherService;
+    private final BatchForecastService batchForecastService;
+
+    @Value("${weather.batch.max-size:500}")
+    private int maxBatchSize = 500;
 
     @Autowired
-    public WeatherController(WeatherService weatherService) {
+    public WeatherController(WeatherService weatherService, BatchForecastService batchForecastService) {
         this.weatherService = weatherService;
+        this.batchForecastService = batchForecastService;
     }
 
     @GetMapping("/forecast/{lat},{lon}")
@@ -39,13 +56,84 @@ public class WeatherController
         }
 
         try {
-            WeatherForecast forecast = weatherService.getForecast(lat, lon, date, metric);
-            return ResponseEntity.ok(forecast);
+            // With an ETag/Last-Modified on the entity, Spring answers matching conditional
+            // requests with 304 before the body is ever serialized
+            ForecastResult result = weatherService.getForecastResult(lat, lon, date, metric);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .headers(freshnessHeaders(result))
+                    .cacheControl(cacheControl(result))
+                    .eTag(strongETag(result.forecast()));
+            if (result.lastModified() != null) {
+                response.lastModified(result.lastModified());
+            }
+            return response.body(result.forecast());
+        } catch (UpstreamRejectedException e) {
+            throw e;
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error fetching weather data: " + e.getMessage(), e);
         }
     }
 
+    @PostMapping("/forecast/batch")
+    public ResponseEntity<List<BatchForecastResult>> getForecasts(
+            @RequestBody List<Coordinate> coordinates,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false, defaultValue = "false") boolean metric
+    ) {
+        // Per-coordinate failures are reported in the results; only malformed batches are rejected
+        if (coordinates.isEmpty() || coordinates.size() > maxBatchSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batch must contain between 1 and " + maxBatchSize + " coordinates");
+        }
+        if (coordinates.stream().anyMatch(Objects::isNull)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batch must not contain null coordinates");
+        }
+
+        return ResponseEntity.ok(batchForecastService.getForecasts(coordinates, date, metric));
+    }
+
+    // max-age is the full upstream lifetime and Age how much of it is used up, so shared
+    // caches expire the response exactly when our cache entry does
+    private static CacheControl cacheControl(ForecastResult result) {
+        if (result.lifetime().isZero()) {
+            return CacheControl.noCache();
+        }
+        return CacheControl.maxAge(result.lifetime()).cachePublic();
+    }
+
+    // The forecast is a small record whose toString covers every serialized field, so hashing
+    // it is far cheaper than hashing the JSON and changes whenever the JSON would
+    static String strongETag(WeatherForecast forecast) {
+        String content = forecast.toString();
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < content.length(); i++) {
+            hash ^= content.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return "\"" + Long.toHexString(hash) + "\"";
+    }
+
+    // Age as in RFC 9111; Warning codes 110/111 from RFC 7234 flag stale answers
+    private static HttpHeaders freshnessHeaders(ForecastResult result) {
+        HttpHeaders headers = new HttpHeaders();
+        if (result.age().toSeconds() > 0) {
+            headers.set(HttpHeaders.AGE, Long.toString(result.age().toSeconds()));
+        }
+        if (result.freshness() == ForecastResult.Freshness.STALE) {
+            headers.set(HttpHeaders.WARNING, "110 - \"Response is Stale\"");
+        } else if (result.freshness() == ForecastResult.Freshness.REVALIDATION_FAILED) {
+            headers.set(HttpHeaders.WARNING, "111 - \"Revalidation Failed\"");
+        }
+        return headers;
+    }
+
+    // Upstream is shedding load and nothing usable was cached: a retry may well succeed
+    @ExceptionHandler(UpstreamRejectedException.class)
+    public ResponseEntity<String> handleUpstreamRejected(UpstreamRejectedException e) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body("Weather service is busy, try again later: " + e.getMessage());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleExceptions(Exception e) {
         return ResponseEntity
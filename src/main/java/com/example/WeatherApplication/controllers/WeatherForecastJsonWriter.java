@@ -0,0 +1,191 @@
+package com.example.WeatherApplication.controllers;
+
+import com.example.WeatherApplication.models.SummaryDictionary;
+import com.example.WeatherApplication.models.Temperature;
+import com.example.WeatherApplication.models.WeatherForecast;
+import com.example.WeatherApplication.models.Wind;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Writes a {@link WeatherForecast} as the same JSON Jackson produces, without reflection or
+ * intermediate objects. Everything after the coordinates depends only on the cell's
+ * forecast for the date and unit system, so that part is serialized once and its bytes
+ * cached; a response for a cached forecast is the two coordinates followed by a copy of
+ * those bytes, assembled in a per-thread buffer and written in one call.
+ */
+public class WeatherForecastJsonWriter {
+
+    private static final byte[] LATITUDE = ascii("{\"latitude\":");
+    private static final byte[] LONGITUDE = ascii(",\"longitude\":");
+    private static final byte[] DATE = ascii(",\"date\":");
+    private static final byte[] FORECAST = ascii(",\"forecast\":");
+    private static final byte[] TEMPERATURE = ascii(",\"temperature\":");
+    private static final byte[] HIGH = ascii("{\"high\":");
+    private static final byte[] LOW = ascii(",\"low\":");
+    private static final byte[] WIND = ascii(",\"wind\":");
+    private static final byte[] MAX = ascii("{\"max\":");
+    private static final byte[] MIN = ascii(",\"min\":");
+    private static final byte[] DIRECTION = ascii(",\"direction\":");
+    private static final byte[] POP = ascii(",\"pop\":");
+    private static final byte[] NULL = ascii("null");
+
+    private static final ThreadLocal<Buffer> BUFFERS = ThreadLocal.withInitial(() -> new Buffer(256));
+
+    // Keyed on the forecast minus its coordinates; equal days in different cells share an
+    // entry. Null when caching is disabled
+    private final Cache<Body, byte[]> bodies;
+
+    public WeatherForecastJsonWriter(long maxCachedBodies) {
+        this.bodies = maxCachedBodies > 0 ? Caffeine.newBuilder().maximumSize(maxCachedBodies).build() : null;
+    }
+
+    public void writeTo(WeatherForecast forecast, OutputStream out) throws IOException {
+        Buffer buffer = BUFFERS.get();
+        buffer.length = 0;
+        write(forecast, buffer);
+        out.write(buffer.bytes, 0, buffer.length);
+    }
+
+    public byte[] toBytes(WeatherForecast forecast) {
+        Buffer buffer = BUFFERS.get();
+        buffer.length = 0;
+        write(forecast, buffer);
+        return Arrays.copyOf(buffer.bytes, buffer.length);
+    }
+
+    private void write(WeatherForecast forecast, Buffer buffer) {
+        buffer.append(LATITUDE);
+        buffer.appendNumber(forecast.latitude());
+        buffer.append(LONGITUDE);
+        buffer.appendNumber(forecast.longitude());
+        if (bodies == null) {
+            writeBody(forecast, buffer);
+            return;
+        }
+        Body key = new Body(forecast.date(), forecast.forecast(), forecast.temperature(), forecast.wind(), forecast.pop());
+        byte[] body = bodies.getIfPresent(key);
+        if (body != null) {
+            buffer.append(body);
+            return;
+        }
+        // Serialized in place, then the body part is kept for the next request
+        int start = buffer.length;
+        writeBody(forecast, buffer);
+        bodies.put(key, Arrays.copyOfRange(buffer.bytes, start, buffer.length));
+    }
+
+    private static void writeBody(WeatherForecast forecast, Buffer buffer) {
+        buffer.append(DATE);
+        LocalDate date = forecast.date();
+        if (date != null) {
+            buffer.append((byte) '"');
+            buffer.appendAscii(date.toString());
+            buffer.append((byte) '"');
+        } else {
+            buffer.append(NULL);
+        }
+        buffer.append(FORECAST);
+        buffer.appendString(forecast.forecast());
+
+        buffer.append(TEMPERATURE);
+        Temperature temperature = forecast.temperature();
+        if (temperature != null) {
+            buffer.append(HIGH);
+            buffer.appendNumber(temperature.high());
+            buffer.append(LOW);
+            buffer.appendNumber(temperature.low());
+            buffer.append((byte) '}');
+        } else {
+            buffer.append(NULL);
+        }
+
+        buffer.append(WIND);
+        Wind wind = forecast.wind();
+        if (wind != null) {
+            buffer.append(MAX);
+            buffer.appendNumber(wind.max());
+            buffer.append(MIN);
+            buffer.appendNumber(wind.min());
+            buffer.append(DIRECTION);
+            buffer.appendString(wind.direction());
+            buffer.append((byte) '}');
+        } else {
+            buffer.append(NULL);
+        }
+
+        buffer.append(POP);
+        buffer.appendAscii(Integer.toString(forecast.pop()));
+        buffer.append((byte) '}');
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private record Body(LocalDate date, String forecast, Temperature temperature, Wind wind, int pop) {}
+
+    private static final class Buffer {
+        byte[] bytes;
+        int length;
+
+        Buffer(int capacity) {
+            bytes = new byte[capacity];
+        }
+
+        void append(byte b) {
+            ensure(1);
+            bytes[length++] = b;
+        }
+
+        void append(byte[] b) {
+            ensure(b.length);
+            System.arraycopy(b, 0, bytes, length, b.length);
+            length += b.length;
+        }
+
+        void appendAscii(String text) {
+            ensure(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                bytes[length++] = (byte) text.charAt(i);
+            }
+        }
+
+        // As Jackson: Double.toString, and non-finite values as strings
+        void appendNumber(double value) {
+            if (Double.isFinite(value)) {
+                appendAscii(Double.toString(value));
+            } else {
+                append((byte) '"');
+                appendAscii(Double.toString(value));
+                append((byte) '"');
+            }
+        }
+
+        // Interned phrases carry their escaped UTF-8 already; anything else is escaped as Jackson would
+        void appendString(String text) {
+            if (text == null) {
+                append(NULL);
+                return;
+            }
+            SerializableString serialized = SummaryDictionary.shared().serialized(text);
+            append((byte) '"');
+            append(serialized != null ? serialized.asQuotedUTF8() : JsonStringEncoder.getInstance().quoteAsUTF8(text));
+            append((byte) '"');
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.WeatherApplication.controllers;
+
+import com.example.WeatherApplication.models.WeatherForecast;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link WeatherForecast} response bodies with {@link WeatherForecastJsonWriter}
+ * instead of the generic Jackson converter. Write-only: requests never carry a forecast.
+ */
+public class WeatherForecastMessageConverter extends AbstractHttpMessageConverter<WeatherForecast> {
+
+    private final WeatherForecastJsonWriter writer;
+
+    public WeatherForecastMessageConverter(WeatherForecastJsonWriter writer) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.writer = writer;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return WeatherForecast.class == clazz;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected WeatherForecast readInternal(Class<? extends WeatherForecast> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("WeatherForecast is not readable", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(WeatherForecast forecast, HttpOutputMessage outputMessage) throws IOException {
+        writer.writeTo(forecast, outputMessage.getBody());
+    }
+}
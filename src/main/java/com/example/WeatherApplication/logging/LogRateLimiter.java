@@ -0,0 +1,93 @@
+package com.example.WeatherApplication.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Caps how often each log statement under {@code loggerPrefix} is written: at most
+ * {@code messagesPerSecond} events per message template per second, so an upstream outage
+ * or a malformed forecast logs a handful of lines a second instead of one per request or
+ * period. As a turbo filter it rejects the excess before logback builds the event. When a
+ * statement was throttled, a warning with the number dropped precedes its next event.
+ * <p>
+ * Counting is per second and approximate under contention: a statement may overshoot the
+ * budget by a few events at a window boundary.
+ */
+public class LogRateLimiter extends TurboFilter {
+
+    // Templates beyond this many are not limited rather than growing the map without bound
+    private static final int MAX_TEMPLATES = 1000;
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final class Budget {
+        final AtomicLong window = new AtomicLong(Long.MIN_VALUE);
+        final AtomicInteger used = new AtomicInteger();
+        final AtomicInteger dropped = new AtomicInteger();
+    }
+
+    private final ConcurrentMap<String, Budget> budgets = new ConcurrentHashMap<>();
+    private final LongSupplier nanoTime;
+
+    private String loggerPrefix = "";
+    private int messagesPerSecond = 10;
+
+    public LogRateLimiter() {
+        this(System::nanoTime);
+    }
+
+    LogRateLimiter(LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    public void setMessagesPerSecond(int messagesPerSecond) {
+        this.messagesPerSecond = messagesPerSecond;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger log, Level level, String format, Object[] params, Throwable t) {
+        // isDebugEnabled() and friends come through without a format; disabled levels are
+        // rejected by the logger right after this, so neither needs counting
+        if (format == null || !isStarted() || !level.isGreaterOrEqual(log.getEffectiveLevel())
+                || !log.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        Budget budget = budgets.get(format);
+        if (budget == null) {
+            if (budgets.size() >= MAX_TEMPLATES) {
+                return FilterReply.NEUTRAL;
+            }
+            budget = budgets.computeIfAbsent(format, f -> new Budget());
+        }
+
+        long window = nanoTime.getAsLong() / WINDOW_NANOS;
+        long previous = budget.window.get();
+        if (previous != window && budget.window.compareAndSet(previous, window)) {
+            budget.used.set(1);
+            int dropped = budget.dropped.getAndSet(0);
+            if (dropped > 0) {
+                ((LoggerContext) getContext()).getLogger(LogRateLimiter.class).warn("Dropped {} log messages like \"{}\" in the last second", dropped, format);
+            }
+            return FilterReply.NEUTRAL;
+        }
+        if (budget.used.incrementAndGet() > messagesPerSecond) {
+            budget.dropped.incrementAndGet();
+            return FilterReply.DENY;
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.WeatherApplication.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A caller waiting on a load another caller already started for the same key.
+ */
+@Name("com.example.WeatherApplication.CoalescedWait")
+@Label("Coalesced Wait")
+@Category({"Weather Service", "Cache"})
+@Enabled(false)
+@StackTrace(false)
+public class CoalescedWaitEvent extends Event {
+
+    @Label("Coalescer")
+    public String coalescer;
+
+    @Label("Key")
+    public String key;
+}
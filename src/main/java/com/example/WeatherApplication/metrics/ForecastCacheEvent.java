@@ -0,0 +1,43 @@
+package com.example.WeatherApplication.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * How one forecast request was answered from the cache, spanning the request; a miss
+ * therefore covers the fetch it waited for.
+ */
+@Name("com.example.WeatherApplication.ForecastCache")
+@Label("Forecast Cache Decision")
+@Category({"Weather Service", "Cache"})
+@Enabled(false)
+@StackTrace(false)
+public class ForecastCacheEvent extends Event {
+
+    public static final String HIT = "hit";
+    public static final String STALE = "stale";
+    public static final String MISS = "miss";
+    public static final String REVALIDATION_FAILED = "revalidation-failed";
+    public static final String REFRESH = "refresh";
+
+    @Label("Cell Latitude Index")
+    public int latIndex;
+
+    @Label("Cell Longitude Index")
+    public int lonIndex;
+
+    @Label("Decision")
+    @Description("hit, stale, miss, revalidation-failed or refresh")
+    public String decision;
+
+    @Label("Entry Age")
+    @Description("Age of the cached entry that was served, if any")
+    @Timespan(Timespan.MILLISECONDS)
+    public long entryAge;
+}
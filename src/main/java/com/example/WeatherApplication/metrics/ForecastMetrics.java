@@ -0,0 +1,176 @@
+package com.example.WeatherApplication.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Latency of each stage of answering a forecast, so a p99 spike can be traced to the hop
+ * responsible: {@code weather.forecast.stage} timers with percentile histograms, upstream
+ * responses counted by status, and the upstream calls in flight per endpoint.
+ * <p>
+ * The fetch stages cover a whole upstream exchange, streamed parsing of the body included;
+ * {@link Stage#DECODE} is the share of a forecast fetch spent reading and parsing the body.
+ * Each exchange is also an {@link UpstreamCallEvent} for recordings that enable it.
+ */
+@Component
+public class ForecastMetrics {
+
+    // Tag for calls that got no HTTP response at all (timeouts, refused connections, ...)
+    private static final int NO_RESPONSE = 0;
+
+    public enum Stage {
+        POINTS_FETCH, FORECAST_FETCH, DECODE, AGGREGATE, CONVERT;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    public enum Endpoint {
+        POINTS(Stage.POINTS_FETCH, "/points/{lat},{lon}"),
+        FORECAST(Stage.FORECAST_FETCH, "/gridpoints/{office}/{x},{y}/forecast");
+
+        private final Stage stage;
+        private final String urlTemplate;
+        private final String tag = name().toLowerCase(Locale.ROOT);
+
+        Endpoint(Stage stage, String urlTemplate) {
+            this.stage = stage;
+            this.urlTemplate = urlTemplate;
+        }
+    }
+
+    /**
+     * What one upstream exchange received, filled in by its response extractor.
+     */
+    public static final class Exchange {
+
+        private int status = NO_RESPONSE;
+        private long bytes;
+
+        /**
+         * Notes the response status.
+         *
+         * @return the response body, counting the bytes read from it
+         */
+        public InputStream received(ClientHttpResponse response) throws IOException {
+            status = response.getStatusCode().value();
+            return new FilterInputStream(response.getBody()) {
+                @Override
+                public int read() throws IOException {
+                    int b = super.read();
+                    if (b >= 0) {
+                        bytes++;
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int n = super.read(buffer, offset, length);
+                    if (n > 0) {
+                        bytes += n;
+                    }
+                    return n;
+                }
+            };
+        }
+    }
+
+    private final MeterRegistry registry;
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Map<Endpoint, AtomicInteger> inFlight = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, ConcurrentMap<Integer, Counter>> responses = new EnumMap<>(Endpoint.class);
+
+    @Autowired
+    public ForecastMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder("weather.forecast.stage")
+                    .tag("stage", stage.tag)
+                    .description("Time spent in one stage of answering a forecast request")
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        for (Endpoint endpoint : Endpoint.values()) {
+            AtomicInteger calls = new AtomicInteger();
+            inFlight.put(endpoint, calls);
+            Gauge.builder("weather.upstream.in-flight", calls, AtomicInteger::get)
+                    .tag("endpoint", endpoint.tag)
+                    .description("Upstream calls awaiting a response")
+                    .register(registry);
+            responses.put(endpoint, new ConcurrentHashMap<>());
+        }
+    }
+
+    public <T> T time(Stage stage, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            record(stage, System.nanoTime() - start);
+        }
+    }
+
+    public void record(Stage stage, long nanos) {
+        stageTimers.get(stage).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Runs one upstream exchange as the endpoint's fetch stage. The call's response extractor
+     * reads the body through {@link Exchange#received}; error statuses, which never reach
+     * it, are taken from the exception.
+     */
+    public <T> T callUpstream(Endpoint endpoint, String url, Function<Exchange, T> call) {
+        Exchange exchange = new Exchange();
+        UpstreamCallEvent event = new UpstreamCallEvent();
+        event.begin();
+        AtomicInteger calls = inFlight.get(endpoint);
+        calls.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            return call.apply(exchange);
+        } catch (HttpStatusCodeException e) {
+            exchange.status = e.getStatusCode().value();
+            exchange.bytes = e.getResponseBodyAsByteArray().length;
+            throw e;
+        } finally {
+            calls.decrementAndGet();
+            record(endpoint.stage, System.nanoTime() - start);
+            countResponse(endpoint, exchange.status);
+            if (event.shouldCommit()) {
+                event.endpoint = endpoint.tag;
+                event.urlTemplate = endpoint.urlTemplate;
+                event.url = url;
+                event.status = exchange.status;
+                event.bytes = exchange.bytes;
+                event.commit();
+            }
+        }
+    }
+
+    private void countResponse(Endpoint endpoint, int status) {
+        responses.get(endpoint).computeIfAbsent(status, s -> Counter.builder("weather.upstream.responses")
+                .tag("endpoint", endpoint.tag)
+                .tag("status", s == NO_RESPONSE ? "none" : String.valueOf(s))
+                .description("Upstream responses by status; none when the call got no response")
+                .register(registry)).increment();
+    }
+}
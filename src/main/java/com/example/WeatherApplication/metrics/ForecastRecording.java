@@ -0,0 +1,161 @@
+package com.example.WeatherApplication.metrics;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Switches the service's flight recorder events on and off at runtime, through
+ * {@code POST /actuator/forecastrecording} with {@code {"enabled": true}}. The events are
+ * disabled by default and cost next to nothing until a recording enables them; this one
+ * also carries the JDK's default events (GC, threads, I/O) so stalls can be lined up with
+ * the forecast requests they hit. Stopping it through the endpoint writes it to a new file
+ * in {@code weather.jfr.dump-directory}; meanwhile it can be dumped with
+ * {@code jcmd <pid> JFR.dump name=forecast-events}.
+ * <p>
+ * The endpoint is not exposed over HTTP by default; add it to
+ * {@code management.endpoints.web.exposure.include} only where the management port is
+ * not reachable by clients.
+ */
+@Component
+@Endpoint(id = "forecastrecording")
+public class ForecastRecording {
+
+    static final String NAME = "forecast-events";
+    static final List<Class<? extends Event>> EVENTS =
+            List.of(UpstreamCallEvent.class, ForecastCacheEvent.class, CoalescedWaitEvent.class);
+
+    private static final Logger logger = LoggerFactory.getLogger(ForecastRecording.class);
+    private static final DateTimeFormatter DUMP_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private Recording recording;
+
+    @Value("${weather.jfr.record-on-startup:false}")
+    private boolean recordOnStartup = false;
+
+    @Value("${weather.jfr.max-age:6h}")
+    private Duration maxAge = Duration.ofHours(6);
+
+    @Value("${weather.jfr.dump-directory:./data/recordings}")
+    private Path dumpDirectory = Path.of("./data/recordings");
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnStartup() {
+        if (recordOnStartup) {
+            start();
+        }
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", recording != null);
+        if (recording != null) {
+            status.put("name", recording.getName());
+            status.put("startTime", recording.getStartTime());
+            status.put("maxAge", recording.getMaxAge());
+            status.put("size", recording.getSize());
+        }
+        return status;
+    }
+
+    /**
+     * Starts the recording, or stops it and writes it to a new file in the dump directory.
+     */
+    @WriteOperation
+    public Map<String, Object> toggle(boolean enabled) {
+        Map<String, Object> status;
+        if (enabled) {
+            start();
+            status = status();
+        } else {
+            Path file = dumpDirectory.resolve(NAME + "-" + DUMP_TIMESTAMP.format(LocalDateTime.now()) + ".jfr");
+            boolean running = stop(file);
+            status = status();
+            if (running) {
+                status.put("file", file.toAbsolutePath().toString());
+            }
+        }
+        return status;
+    }
+
+    public synchronized void start() {
+        if (recording != null) {
+            return;
+        }
+        Recording started;
+        try {
+            started = new Recording(Configuration.getConfiguration("default"));
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Could not load the default flight recorder settings", e);
+        }
+        for (Class<? extends Event> event : EVENTS) {
+            started.enable(event);
+        }
+        started.setName(NAME);
+        started.setToDisk(true);
+        started.setMaxAge(maxAge);
+        started.start();
+        recording = started;
+        logger.info("Started flight recording {} (max age {})", NAME, maxAge);
+    }
+
+    /**
+     * Stops the recording, which disables the events again unless another recording enables them.
+     * With a {@code destination} the events recorded so far are dumped there first; {@code null}
+     * discards them.
+     *
+     * @return whether a recording was running
+     */
+    public synchronized boolean stop(Path destination) {
+        if (recording == null) {
+            return false;
+        }
+        try {
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+            }
+            if (destination != null) {
+                if (destination.getParent() != null) {
+                    Files.createDirectories(destination.getParent());
+                }
+                recording.dump(destination);
+                logger.info("Flight recording {} written to {}", NAME, destination);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write flight recording to " + destination, e);
+        } finally {
+            recording.close();
+            recording = null;
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void close() {
+        stop(null);
+    }
+}
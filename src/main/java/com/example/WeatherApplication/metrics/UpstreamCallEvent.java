@@ -0,0 +1,39 @@
+package com.example.WeatherApplication.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One HTTP exchange with api.weather.gov, hedged attempts each on their own. Spans the
+ * whole exchange, body parsing included.
+ */
+@Name("com.example.WeatherApplication.UpstreamCall")
+@Label("Upstream Call")
+@Category({"Weather Service", "Upstream"})
+@Enabled(false)
+@StackTrace(false)
+class UpstreamCallEvent extends Event {
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("URL Template")
+    String urlTemplate;
+
+    @Label("URL")
+    String url;
+
+    @Label("Status")
+    @Description("HTTP status, or 0 when no response arrived")
+    int status;
+
+    @Label("Bytes Read")
+    @DataAmount
+    long bytes;
+}
@@ -0,0 +1,90 @@
+package com.example.WeatherApplication.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * One archived snapshot of a cell's forecast for one date: what upstream predicted for
+ * {@code forecastDate} as of {@code recordedAt}. Rows are only ever inserted, and only when
+ * the prediction changed, so a date's history is its rows in {@code recordedAt} order.
+ * The (cell, date, recorded) index makes a location's date range one contiguous scan.
+ */
+@Entity
+@Table(name = "forecast_archive", indexes = @Index(name = "idx_forecast_archive_cell_date",
+        columnList = "cell_key, forecast_date, recorded_at"))
+public class ArchivedForecast {
+
+    // A pooled sequence rather than identity columns, so inserts can be JDBC-batched
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "forecast_archive_seq")
+    @SequenceGenerator(name = "forecast_archive_seq", sequenceName = "forecast_archive_seq", allocationSize = 500)
+    private Long id;
+
+    @Column(name = "cell_key", nullable = false, length = 48)
+    private String cellKey;
+
+    @Column(name = "forecast_date", nullable = false)
+    private LocalDate forecastDate;
+
+    @Column(name = "recorded_at", nullable = false)
+    private Instant recordedAt;
+
+    @Column(name = "min_temperature", nullable = false)
+    private short minTemperature;
+
+    @Column(name = "max_temperature", nullable = false)
+    private short maxTemperature;
+
+    @Column(name = "min_wind_speed", nullable = false)
+    private short minWindSpeed;
+
+    @Column(name = "max_wind_speed", nullable = false)
+    private short maxWindSpeed;
+
+    @Column(name = "probability_of_precipitation", nullable = false)
+    private byte probabilityOfPrecipitation;
+
+    @Column(name = "summary", length = 1024)
+    private String summary;
+
+    protected ArchivedForecast() {
+    }
+
+    public ArchivedForecast(GridCell cell, LocalDate forecastDate, DailyForecast day, Instant recordedAt) {
+        this.cellKey = ForecastDay.key(cell);
+        this.forecastDate = forecastDate;
+        this.recordedAt = recordedAt;
+        this.minTemperature = (short) day.minTemperature();
+        this.maxTemperature = (short) day.maxTemperature();
+        this.minWindSpeed = (short) day.minWindSpeed();
+        this.maxWindSpeed = (short) day.maxWindSpeed();
+        this.probabilityOfPrecipitation = (byte) day.probabilityOfPrecipitation();
+        this.summary = day.summary();
+    }
+
+    public DailyForecast toDailyForecast() {
+        return new DailyForecast(minTemperature, maxTemperature, minWindSpeed, maxWindSpeed,
+                SummaryDictionary.shared().intern(summary), probabilityOfPrecipitation);
+    }
+
+    public String getCellKey() {
+        return cellKey;
+    }
+
+    public LocalDate getForecastDate() {
+        return forecastDate;
+    }
+
+    public Instant getRecordedAt() {
+        return recordedAt;
+    }
+}
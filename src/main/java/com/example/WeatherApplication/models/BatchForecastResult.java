@@ -0,0 +1,15 @@
+package com.example.WeatherApplication.models;
+
+/**
+ * One entry of a batch response: either {@code forecast} or {@code error} is set.
+ */
+public record BatchForecastResult(double latitude, double longitude, WeatherForecast forecast, String error) {
+
+    public static BatchForecastResult success(WeatherForecast forecast) {
+        return new BatchForecastResult(forecast.latitude(), forecast.longitude(), forecast, null);
+    }
+
+    public static BatchForecastResult failure(Coordinate coordinate, String error) {
+        return new BatchForecastResult(coordinate.lat(), coordinate.lon(), null, error);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.WeatherApplication.models;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * A parsed gridpoint forecast for one grid cell, indexed by date. Built once per upstream
+ * response and shared by every request for the cell, whatever date and units it asks for.
+ */
+public record CellForecast(Map<LocalDate, DailyForecast> days) {
+
+    public CellForecast {
+        days = Map.copyOf(days);
+    }
+
+    /**
+     * @return the aggregates for {@code date}, or null when it is outside the forecast
+     */
+    public DailyForecast forDate(LocalDate date) {
+        return days.get(date);
+    }
+}
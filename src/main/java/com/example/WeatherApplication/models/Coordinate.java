@@ -0,0 +1,3 @@
+package com.example.WeatherApplication.models;
+
+public record Coordinate(double lat, double lon) {}
@@ -0,0 +1,8 @@
+package com.example.WeatherApplication.models;
+
+/**
+ * Aggregates of all forecast periods falling on one date, in the upstream (imperial) units.
+ * {@code summary} is the pre-rendered "Day: ... – Night: ..." text.
+ */
+public record DailyForecast(int minTemperature, int maxTemperature, int minWindSpeed, int maxWindSpeed,
+                            String summary, int probabilityOfPrecipitation) {}
@@ -0,0 +1,195 @@
+package com.example.WeatherApplication.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * One date of a persisted cell forecast. The primary key is (cell, date); every row written
+ * from the same fetch shares its {@code fetchedAt}, expiry and validators, so a cell's
+ * forecast is the set of its rows with the newest {@code fetchedAt}.
+ */
+@Entity
+@Table(name = "forecast_day", indexes = @Index(name = "idx_forecast_day_expires_at", columnList = "expires_at"))
+@IdClass(ForecastDay.Key.class)
+public class ForecastDay {
+
+    @Id
+    @Column(name = "cell_key", length = 48)
+    private String cellKey;
+
+    @Id
+    @Column(name = "forecast_date")
+    private LocalDate forecastDate;
+
+    @Column(name = "lat_index", nullable = false)
+    private int latIndex;
+
+    @Column(name = "lon_index", nullable = false)
+    private int lonIndex;
+
+    @Column(name = "resolution", nullable = false)
+    private double resolution;
+
+    @Column(name = "min_temperature", nullable = false)
+    private int minTemperature;
+
+    @Column(name = "max_temperature", nullable = false)
+    private int maxTemperature;
+
+    @Column(name = "min_wind_speed", nullable = false)
+    private int minWindSpeed;
+
+    @Column(name = "max_wind_speed", nullable = false)
+    private int maxWindSpeed;
+
+    @Column(name = "summary", length = 1024)
+    private String summary;
+
+    @Column(name = "probability_of_precipitation", nullable = false)
+    private int probabilityOfPrecipitation;
+
+    @Column(name = "fetched_at", nullable = false)
+    private Instant fetchedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "etag", length = 256)
+    private String etag;
+
+    @Column(name = "last_modified", length = 64)
+    private String lastModified;
+
+    protected ForecastDay() {
+    }
+
+    public ForecastDay(GridCell cell, LocalDate forecastDate, DailyForecast day, Instant fetchedAt,
+                       Instant expiresAt, String etag, String lastModified) {
+        this.cellKey = key(cell);
+        this.forecastDate = forecastDate;
+        this.latIndex = cell.latIndex();
+        this.lonIndex = cell.lonIndex();
+        this.resolution = cell.resolution();
+        this.minTemperature = day.minTemperature();
+        this.maxTemperature = day.maxTemperature();
+        this.minWindSpeed = day.minWindSpeed();
+        this.maxWindSpeed = day.maxWindSpeed();
+        this.summary = day.summary();
+        this.probabilityOfPrecipitation = day.probabilityOfPrecipitation();
+        this.fetchedAt = fetchedAt;
+        this.expiresAt = expiresAt;
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Includes the resolution, so rows written under a different grid size never collide.
+     */
+    public static String key(GridCell cell) {
+        return String.format(Locale.ROOT, "%d,%d@%.4f", cell.latIndex(), cell.lonIndex(), cell.resolution());
+    }
+
+    public GridCell toGridCell() {
+        return new GridCell(latIndex, lonIndex, resolution);
+    }
+
+    public DailyForecast toDailyForecast() {
+        return new DailyForecast(minTemperature, maxTemperature, minWindSpeed, maxWindSpeed,
+                SummaryDictionary.shared().intern(summary), probabilityOfPrecipitation);
+    }
+
+    public String getCellKey() {
+        return cellKey;
+    }
+
+    public LocalDate getForecastDate() {
+        return forecastDate;
+    }
+
+    public int getLatIndex() {
+        return latIndex;
+    }
+
+    public int getLonIndex() {
+        return lonIndex;
+    }
+
+    public double getResolution() {
+        return resolution;
+    }
+
+    public int getMinTemperature() {
+        return minTemperature;
+    }
+
+    public int getMaxTemperature() {
+        return maxTemperature;
+    }
+
+    public int getMinWindSpeed() {
+        return minWindSpeed;
+    }
+
+    public int getMaxWindSpeed() {
+        return maxWindSpeed;
+    }
+
+    public String getSummary() {
+        return summary;
+    }
+
+    public int getProbabilityOfPrecipitation() {
+        return probabilityOfPrecipitation;
+    }
+
+    public Instant getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    public static class Key implements Serializable {
+
+        private String cellKey;
+        private LocalDate forecastDate;
+
+        protected Key() {
+        }
+
+        public Key(String cellKey, LocalDate forecastDate) {
+            this.cellKey = cellKey;
+            this.forecastDate = forecastDate;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other
+                    && Objects.equals(cellKey, other.cellKey) && Objects.equals(forecastDate, other.forecastDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(cellKey, forecastDate);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.WeatherApplication.models;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Every archived forecast for a location between {@code from} and {@code to} inclusive,
+ * ordered by date and then by when it was recorded.
+ */
+public record ForecastHistory(double latitude, double longitude, LocalDate from, LocalDate to,
+                              List<ForecastSnapshot> snapshots) {}
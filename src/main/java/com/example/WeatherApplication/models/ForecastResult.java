@@ -0,0 +1,27 @@
+package com.example.WeatherApplication.models;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A forecast together with how fresh it is, for the HTTP layer to report via
+ * {@code Cache-Control}, {@code Age}, {@code Last-Modified} and {@code Warning} headers.
+ * {@code lifetime} is the total freshness lifetime upstream granted (zero when the forecast
+ * may not be cached) and {@code lastModified} may be null when unknown.
+ */
+public record ForecastResult(WeatherForecast forecast, Duration age, Freshness freshness,
+                             Duration lifetime, Instant lastModified) {
+
+    public enum Freshness {
+        FRESH,
+        // Past its upstream lifetime; a revalidation is running in the background
+        STALE,
+        // Past its upstream lifetime and the upstream fetch just failed
+        REVALIDATION_FAILED
+    }
+
+    // A forecast straight from upstream that was not cached
+    public static ForecastResult fresh(WeatherForecast forecast) {
+        return new ForecastResult(forecast, Duration.ZERO, Freshness.FRESH, Duration.ZERO, null);
+    }
+}
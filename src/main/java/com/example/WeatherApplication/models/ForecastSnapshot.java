@@ -0,0 +1,8 @@
+package com.example.WeatherApplication.models;
+
+import java.time.Instant;
+
+/**
+ * The forecast for {@code forecast.date()} as it was published at {@code recordedAt}.
+ */
+public record ForecastSnapshot(Instant recordedAt, WeatherForecast forecast) {}
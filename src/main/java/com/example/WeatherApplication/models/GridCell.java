@@ -0,0 +1,16 @@
+package com.example.WeatherApplication.models;
+
+/**
+ * A quantized square of {@code resolution} degrees. Every coordinate inside the
+ * square shares the same cell and therefore the same cached forecast.
+ */
+public record GridCell(int latIndex, int lonIndex, double resolution) {
+
+    public double centerLatitude() {
+        return (latIndex + 0.5) * resolution;
+    }
+
+    public double centerLongitude() {
+        return (lonIndex + 0.5) * resolution;
+    }
+}
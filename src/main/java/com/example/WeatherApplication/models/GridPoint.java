@@ -0,0 +1,57 @@
+package com.example.WeatherApplication.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * Persisted result of a {@code /points/{lat},{lon}} lookup. The forecast URL for a
+ * coordinate almost never changes, so it is kept well beyond the in-heap cache TTL.
+ */
+@Entity
+@Table(name = "grid_point")
+public class GridPoint {
+
+    @Id
+    @Column(name = "coordinate_key", length = 32)
+    private String coordinateKey;
+
+    @Column(name = "forecast_url", nullable = false, length = 512)
+    private String forecastUrl;
+
+    @Column(name = "resolved_at", nullable = false)
+    private Instant resolvedAt;
+
+    protected GridPoint() {
+    }
+
+    public GridPoint(String coordinateKey, String forecastUrl, Instant resolvedAt) {
+        this.coordinateKey = coordinateKey;
+        this.forecastUrl = forecastUrl;
+        this.resolvedAt = resolvedAt;
+    }
+
+    /**
+     * The points endpoint only honours four decimal places, so coordinates are
+     * normalised to that precision before being used as a key or in a URL.
+     */
+    public static String key(double lat, double lon) {
+        return String.format(Locale.ROOT, "%.4f,%.4f", lat, lon);
+    }
+
+    public String getCoordinateKey() {
+        return coordinateKey;
+    }
+
+    public String getForecastUrl() {
+        return forecastUrl;
+    }
+
+    public Instant getResolvedAt() {
+        return resolvedAt;
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.WeatherApplication.models;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Dictionary of forecast summaries. Upstream uses a small vocabulary ("Sunny", "Chance
+ * Showers And Thunderstorms", ...), so the "Day: ... – Night: ..." texts built from it
+ * repeat across cells and fetches, and each gets an int id.
+ * <p>
+ * The process-wide {@link #shared()} dictionary interns them, so every cached, rehydrated
+ * or archived forecast with the same text shares one {@code String}, and keeps each text's
+ * JSON-escaped UTF-8 bytes, encoded once and then copied straight into every response by
+ * {@link Serializer}. A dictionary backed by a file instead assigns ids that stay valid
+ * across restarts, for the off-heap tier to store in place of the text: they are appended
+ * to the file, one text per line, and texts read back are interned through the shared one.
+ */
+public class SummaryDictionary {
+
+    public static final int NONE = -1;
+
+    // Bounds the shared dictionary if upstream ever sends free text; later texts are used as is
+    static final int MAX_SHARED_SIZE = 1 << 16;
+
+    private static final SummaryDictionary SHARED = new SummaryDictionary(null, MAX_SHARED_SIZE);
+
+    private final Path file;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<Entry> byId;
+    private volatile int size;
+
+    /**
+     * @param file where ids are persisted, or null for a dictionary that only lives in memory
+     */
+    public SummaryDictionary(Path file, int maxSize) {
+        this.file = file;
+        List<String> loaded = new ArrayList<>();
+        try {
+            if (file != null && Files.exists(file)) {
+                loaded = Files.readAllLines(file, StandardCharsets.UTF_8);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read summary dictionary " + file, e);
+        }
+        this.byId = new AtomicReferenceArray<>(Math.max(maxSize, loaded.size()));
+        for (String text : loaded) {
+            Entry entry = entry(size, text);
+            byId.set(size, entry);
+            entries.putIfAbsent(entry.text(), entry);
+            size++;
+        }
+    }
+
+    public static SummaryDictionary shared() {
+        return SHARED;
+    }
+
+    /**
+     * @return the canonical instance equal to {@code text}, or {@code text} itself when the
+     * dictionary is full
+     */
+    public String intern(String text) {
+        Entry entry = lookup(text);
+        return entry != null ? entry.text() : text;
+    }
+
+    /**
+     * @return the id of {@code text}, adding it if needed, or {@link #NONE} for null text
+     * or when the dictionary is full
+     */
+    public int idOf(String text) {
+        Entry entry = lookup(text);
+        return entry != null ? entry.id() : NONE;
+    }
+
+    /**
+     * @return the text for {@code id}, or null if the id is unknown
+     */
+    public String get(int id) {
+        return id >= 0 && id < size ? byId.get(id).text() : null;
+    }
+
+    /**
+     * @return the pre-encoded JSON form of {@code text}, or null if it was never interned.
+     * Never adds to the dictionary.
+     */
+    public SerializableString serialized(String text) {
+        Entry entry = text != null ? entries.get(text) : null;
+        return entry != null ? entry.serialized() : null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private Entry lookup(String text) {
+        if (text == null) {
+            return null;
+        }
+        Entry entry = entries.get(text);
+        return entry != null ? entry : add(text);
+    }
+
+    private synchronized Entry add(String text) {
+        Entry existing = entries.get(text);
+        if (existing != null || size >= byId.length()) {
+            return existing;
+        }
+        if (file != null) {
+            // A line break would split the entry when the file is read back
+            if (text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                return null;
+            }
+            try {
+                // Written before the id is handed out, so no stored slot can refer to a lost entry
+                Files.writeString(file, text + "\n", StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not extend summary dictionary " + file, e);
+            }
+        }
+        Entry entry = entry(size, text);
+        byId.set(size, entry);
+        size++;
+        entries.put(text, entry);
+        return entry;
+    }
+
+    private Entry entry(int id, String text) {
+        if (file != null) {
+            return new Entry(id, SHARED.intern(text), null);
+        }
+        SerializedString serialized = new SerializedString(text);
+        // Encode eagerly, so requests never race to do it
+        serialized.asQuotedUTF8();
+        return new Entry(id, text, serialized);
+    }
+
+    private record Entry(int id, String text, SerializedString serialized) {}
+
+    /**
+     * Writes a forecast text from its pre-encoded bytes instead of escaping and encoding it
+     * on every response.
+     */
+    public static class Serializer extends StdSerializer<String> {
+
+        public Serializer() {
+            super(String.class);
+        }
+
+        @Override
+        public void serialize(String value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            SerializableString serialized = SHARED.serialized(value);
+            if (serialized != null) {
+                gen.writeString(serialized);
+            } else {
+                gen.writeString(value);
+            }
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.example.WeatherApplication.models;
 
-import jdk.jfr.DataAmount;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 import java.time.LocalDate;
 
@@ -10,7 +10,7 @@ public record WeatherForecast(
         double latitude,
         double longitude,
         LocalDate date,
-        String forecast,
+        @JsonSerialize(using = SummaryDictionary.Serializer.class) String forecast,
         Temperature temperature,
         Wind wind,
         int pop
@@ -0,0 +1,32 @@
+package com.example.WeatherApplication.repositories;
+
+import com.example.WeatherApplication.models.ArchivedForecast;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedForecastRepository extends JpaRepository<ArchivedForecast, Long> {
+
+    // Read-only: the rows are mapped straight to responses, so Hibernate keeps no snapshots
+    // for dirty checking
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500")})
+    List<ArchivedForecast> findByCellKeyAndForecastDateBetweenOrderByForecastDateAscRecordedAtAsc(
+            String cellKey, LocalDate from, LocalDate to);
+
+    // The most recent snapshot of each of the cell's dates, one index seek per date
+    @Query("select a from ArchivedForecast a where a.cellKey = :cellKey and a.forecastDate in :dates"
+            + " and a.recordedAt = (select max(b.recordedAt) from ArchivedForecast b"
+            + " where b.cellKey = a.cellKey and b.forecastDate = a.forecastDate)")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<ArchivedForecast> findLatest(@Param("cellKey") String cellKey, @Param("dates") Collection<LocalDate> dates);
+}
@@ -0,0 +1,24 @@
+package com.example.WeatherApplication.repositories;
+
+import com.example.WeatherApplication.models.ForecastDay;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface ForecastDayRepository extends JpaRepository<ForecastDay, ForecastDay.Key>, ForecastDayRepositoryCustom {
+
+    List<ForecastDay> findByExpiresAtAfterOrderByFetchedAtDesc(Instant expiresAfter, Pageable page);
+
+    @Transactional
+    @Modifying
+    @Query("delete from ForecastDay d where d.expiresAt < :cutoff")
+    int deleteExpiredBefore(@Param("cutoff") Instant cutoff);
+}
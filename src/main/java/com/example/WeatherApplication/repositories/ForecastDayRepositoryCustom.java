@@ -0,0 +1,13 @@
+package com.example.WeatherApplication.repositories;
+
+import com.example.WeatherApplication.models.ForecastDay;
+
+import java.util.List;
+
+public interface ForecastDayRepositoryCustom {
+
+    /**
+     * Inserts or replaces the rows by primary key, as one JDBC batch.
+     */
+    void upsertAll(List<ForecastDay> rows);
+}
@@ -0,0 +1,62 @@
+package com.example.WeatherApplication.repositories;
+
+import com.example.WeatherApplication.models.ForecastDay;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Rows are keyed on (cell, date) and a re-fetched cell overwrites its earlier rows, so
+ * {@code saveAll} could not tell inserts from updates and would select every row first.
+ * H2's {@code MERGE ... KEY} does either in a single batched statement.
+ */
+public class ForecastDayRepositoryCustomImpl implements ForecastDayRepositoryCustom {
+
+    private static final String UPSERT = "MERGE INTO forecast_day (cell_key, forecast_date, lat_index, lon_index, resolution, "
+            + "min_temperature, max_temperature, min_wind_speed, max_wind_speed, summary, probability_of_precipitation, "
+            + "fetched_at, expires_at, etag, last_modified) KEY (cell_key, forecast_date) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ForecastDayRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void upsertAll(List<ForecastDay> rows) {
+        jdbcTemplate.batchUpdate(UPSERT, rows, rows.size(), ForecastDayRepositoryCustomImpl::bind);
+    }
+
+    private static void bind(PreparedStatement statement, ForecastDay row) throws SQLException {
+        statement.setString(1, row.getCellKey());
+        statement.setObject(2, row.getForecastDate());
+        statement.setInt(3, row.getLatIndex());
+        statement.setInt(4, row.getLonIndex());
+        statement.setDouble(5, row.getResolution());
+        statement.setInt(6, row.getMinTemperature());
+        statement.setInt(7, row.getMaxTemperature());
+        statement.setInt(8, row.getMinWindSpeed());
+        statement.setInt(9, row.getMaxWindSpeed());
+        statement.setString(10, row.getSummary());
+        statement.setInt(11, row.getProbabilityOfPrecipitation());
+        statement.setObject(12, utc(row.getFetchedAt()));
+        statement.setObject(13, utc(row.getExpiresAt()));
+        statement.setString(14, row.getEtag());
+        statement.setString(15, row.getLastModified());
+    }
+
+    // Hibernate maps Instant to a timestamp with time zone and binds it the same way
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.WeatherApplication.repositories;
+
+import com.example.WeatherApplication.models.GridPoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GridPointRepository extends JpaRepository<GridPoint, String> {
+}
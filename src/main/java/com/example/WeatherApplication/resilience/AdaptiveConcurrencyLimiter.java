@@ -0,0 +1,106 @@
+package com.example.WeatherApplication.resilience;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to upstream latency, AIMD style with a Vegas-like
+ * congestion signal: the limit grows by one per successful call while it is being used,
+ * and is cut by {@code backoffRatio} when a call fails or takes longer than
+ * {@code latencyTolerance} times the best latency seen recently for its endpoint. Both only
+ * happen while at least half the limit is in flight; below that the limit is not the
+ * constraint, and a slow call then is jitter rather than queueing.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    // The baseline is re-learned periodically so it can follow upstream getting slower for good
+    private static final int MIN_LATENCY_RESET_SAMPLES = 1000;
+    private static final String DEFAULT_ENDPOINT = "";
+
+    // Endpoints differ in cost, so each is judged against its own best latency
+    private static final class Baseline {
+        private long minLatencyNanos = Long.MAX_VALUE;
+        private int samplesSinceReset;
+    }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Map<String, Baseline> baselines = new HashMap<>();
+
+    private volatile double limit;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double backoffRatio, double latencyTolerance) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos, boolean failed) {
+        release(DEFAULT_ENDPOINT, latencyNanos, failed);
+    }
+
+    /**
+     * Releases a permit from {@link #tryAcquire()} and feeds the call's outcome into the limit.
+     */
+    public void release(String endpoint, long latencyNanos, boolean failed) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        synchronized (this) {
+            Baseline baseline = baselines.computeIfAbsent(endpoint, e -> new Baseline());
+            if (++baseline.samplesSinceReset >= MIN_LATENCY_RESET_SAMPLES) {
+                baseline.samplesSinceReset = 0;
+                baseline.minLatencyNanos = Long.MAX_VALUE;
+            }
+            if (!failed) {
+                baseline.minLatencyNanos = Math.min(baseline.minLatencyNanos, latencyNanos);
+            }
+
+            // Only adjust while the limit is actually the constraint
+            if (inFlightAtCompletion * 2 < limit) {
+                return;
+            }
+            boolean congested = failed || latencyNanos > baseline.minLatencyNanos * latencyTolerance;
+            if (congested) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+    }
+
+    /**
+     * Releases a permit from {@link #tryAcquire()} without a sample, leaving the limit and
+     * latency baselines untouched: for a call that never reached upstream, or one whose
+     * latency says nothing about upstream load, such as a 304.
+     */
+    public void cancel() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
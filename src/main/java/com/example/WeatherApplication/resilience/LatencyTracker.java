@@ -0,0 +1,47 @@
+package com.example.WeatherApplication.resilience;
+
+import java.util.Arrays;
+
+/**
+ * Percentile of the most recent latency samples. The percentile is recomputed every few
+ * samples rather than on every read, which keeps reads on the request path cheap.
+ */
+public class LatencyTracker {
+
+    private static final int RECOMPUTE_EVERY = 16;
+
+    private final long[] samples;
+    private final double percentile;
+    private final int minimumSamples;
+    private int next;
+    private int count;
+    private int sinceRecompute;
+    private volatile long cachedPercentileNanos = -1;
+
+    public LatencyTracker(int windowSize, double percentile, int minimumSamples) {
+        this.samples = new long[windowSize];
+        this.percentile = percentile;
+        this.minimumSamples = Math.min(minimumSamples, windowSize);
+    }
+
+    public synchronized void record(long latencyNanos) {
+        samples[next] = latencyNanos;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+        if (count >= minimumSamples && (++sinceRecompute >= RECOMPUTE_EVERY || cachedPercentileNanos < 0)) {
+            sinceRecompute = 0;
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            cachedPercentileNanos = sorted[Math.min(count - 1, (int) Math.ceil(percentile * count) - 1)];
+        }
+    }
+
+    /**
+     * @return the configured percentile in nanoseconds, or -1 until enough samples were seen
+     */
+    public long getPercentileNanos() {
+        return cachedPercentileNanos;
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.WeatherApplication.resilience;
+
+import com.example.WeatherApplication.config.UpstreamResilienceProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Hedged requests: when a call has not finished by the configured percentile of recent
+ * latency, an identical second call is started and whichever succeeds first wins. Every
+ * call earns {@code max-extra-load} of a hedge token and each hedge spends a whole one, so
+ * hedges can never add more than that fraction of load, even when upstream is uniformly slow.
+ */
+@Component
+public class RequestHedger implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestHedger.class);
+
+    // Caps the burst of hedges that a quiet period can bank
+    private static final double MAX_BANKED_TOKENS = 10;
+
+    private final boolean enabled;
+    private final double maxExtraLoad;
+    private final long minDelayNanos;
+    private final LatencyTracker latencyTracker;
+    private final Executor executor;
+    private final AtomicLong issued = new AtomicLong();
+    private final AtomicLong won = new AtomicLong();
+    private final AtomicLong budgetExhausted = new AtomicLong();
+    private double tokens;
+
+    @Autowired
+    public RequestHedger(UpstreamResilienceProperties properties,
+                         @Qualifier("upstreamHedgeExecutor") Executor executor) {
+        this(properties.getHedging(), executor);
+    }
+
+    public RequestHedger(UpstreamResilienceProperties.Hedging hedging, Executor executor) {
+        this.enabled = hedging.isEnabled();
+        this.maxExtraLoad = hedging.getMaxExtraLoad();
+        this.minDelayNanos = hedging.getMinDelay().toNanos();
+        this.latencyTracker = new LatencyTracker(hedging.getWindowSize(), hedging.getPercentile(),
+                hedging.getMinimumSamples());
+        this.executor = executor;
+    }
+
+    public <T> T call(Supplier<T> attempt) {
+        return call(attempt, result -> true);
+    }
+
+    /**
+     * As {@link #call(Supplier)}, but only results matching {@code sampleLatency} feed the
+     * hedging threshold; a cheap answer such as a 304 would otherwise drag it down, as it
+     * would the concurrency limit in {@link UpstreamGuard}.
+     */
+    public <T> T call(Supplier<T> attempt, Predicate<? super T> sampleLatency) {
+        if (!enabled) {
+            return attempt.get();
+        }
+        deposit();
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        AtomicReference<Throwable> lastFailure = new AtomicReference<>();
+        try {
+            launch(attempt, sampleLatency, result, pending, lastFailure, false);
+        } catch (TaskRejectedException e) {
+            // No spare thread: fall back to a plain call on the caller's thread
+            return attempt.get();
+        }
+
+        try {
+            long delay = Math.max(minDelayNanos, latencyTracker.getPercentileNanos());
+            if (latencyTracker.getPercentileNanos() >= 0) {
+                try {
+                    return result.get(delay, TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    hedge(attempt, sampleLatency, result, pending, lastFailure);
+                }
+            }
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an upstream call", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+
+    private <T> void hedge(Supplier<T> attempt, Predicate<? super T> sampleLatency, CompletableFuture<T> result,
+                           AtomicInteger pending, AtomicReference<Throwable> lastFailure) {
+        if (result.isDone()) {
+            return;
+        }
+        if (!withdraw()) {
+            budgetExhausted.incrementAndGet();
+            return;
+        }
+        pending.incrementAndGet();
+        try {
+            launch(attempt, sampleLatency, result, pending, lastFailure, true);
+        } catch (TaskRejectedException e) {
+            // The hedge never ran, so it neither counts as issued nor spends the token
+            refund();
+            logger.debug("No thread available for a hedged request");
+            // The primary may have failed meanwhile, leaving this withdrawn hedge the last one
+            if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(lastFailure.get());
+            }
+        }
+    }
+
+    private <T> void launch(Supplier<T> attempt, Predicate<? super T> sampleLatency, CompletableFuture<T> result,
+                            AtomicInteger pending, AtomicReference<Throwable> lastFailure, boolean isHedge) {
+        executor.execute(() -> {
+            // Counted once running and before it can win, so won never exceeds issued
+            if (isHedge) {
+                issued.incrementAndGet();
+            }
+            long start = System.nanoTime();
+            try {
+                T value = attempt.get();
+                if (sampleLatency.test(value)) {
+                    latencyTracker.record(System.nanoTime() - start);
+                }
+                if (result.complete(value) && isHedge) {
+                    won.incrementAndGet();
+                }
+            } catch (RuntimeException | Error e) {
+                // Only the last attempt standing reports its failure
+                lastFailure.set(e);
+                if (pending.decrementAndGet() == 0) {
+                    result.completeExceptionally(e);
+                }
+            }
+        });
+    }
+
+    private synchronized void deposit() {
+        tokens = Math.min(MAX_BANKED_TOKENS, tokens + maxExtraLoad);
+    }
+
+    private synchronized void refund() {
+        tokens = Math.min(MAX_BANKED_TOKENS, tokens + 1);
+    }
+
+    private synchronized boolean withdraw() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    public long getIssuedCount() {
+        return issued.get();
+    }
+
+    public long getWonCount() {
+        return won.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("weather.upstream.hedges", issued, AtomicLong::get)
+                .tag("result", "issued")
+                .description("Hedged upstream requests started")
+                .register(registry);
+        FunctionCounter.builder("weather.upstream.hedges", won, AtomicLong::get)
+                .tag("result", "won")
+                .description("Hedged upstream requests that finished before the original")
+                .register(registry);
+        FunctionCounter.builder("weather.upstream.hedges", budgetExhausted, AtomicLong::get)
+                .tag("result", "budget-exhausted")
+                .register(registry);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.WeatherApplication.resilience;
+
+import com.example.WeatherApplication.config.UpstreamResilienceProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Wraps every blocking call to the upstream API in a circuit breaker and an adaptive
+ * concurrency limit, so a slow or failing upstream cannot tie up all request threads.
+ * Rejected calls fail immediately with {@link UpstreamRejectedException}.
+ */
+@Component
+public class UpstreamGuard implements MeterBinder {
+
+    private final CircuitBreaker circuitBreaker;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final AtomicLong rejectedByCircuit = new AtomicLong();
+    private final AtomicLong rejectedByLimit = new AtomicLong();
+
+    @Autowired
+    public UpstreamGuard(UpstreamResilienceProperties properties) {
+        this(new CircuitBreaker(
+                        properties.getCircuitBreaker().getFailureRateThreshold(),
+                        properties.getCircuitBreaker().getWindowSize(),
+                        properties.getCircuitBreaker().getMinimumCalls(),
+                        properties.getCircuitBreaker().getOpenDuration(),
+                        properties.getCircuitBreaker().getHalfOpenCalls(),
+                        Clock.systemUTC()),
+                new AdaptiveConcurrencyLimiter(
+                        properties.getConcurrency().getInitialLimit(),
+                        properties.getConcurrency().getMinLimit(),
+                        properties.getConcurrency().getMaxLimit(),
+                        properties.getConcurrency().getBackoffRatio(),
+                        properties.getConcurrency().getLatencyTolerance()));
+    }
+
+    public UpstreamGuard(CircuitBreaker circuitBreaker, AdaptiveConcurrencyLimiter limiter) {
+        this.circuitBreaker = circuitBreaker;
+        this.limiter = limiter;
+    }
+
+    public <T> T call(String endpoint, Supplier<T> upstreamCall) {
+        return call(endpoint, upstreamCall, result -> true);
+    }
+
+    /**
+     * @param endpoint       whose latency baseline the call is judged against
+     * @param sampleLatency  whether a result's latency reflects upstream load; a 304, say,
+     *                       is much cheaper than a full response and would skew the baseline
+     */
+    public <T> T call(String endpoint, Supplier<T> upstreamCall, Predicate<? super T> sampleLatency) {
+        if (!limiter.tryAcquire()) {
+            rejectedByLimit.incrementAndGet();
+            throw new UpstreamRejectedException("Upstream concurrency limit of " + limiter.getLimit() + " reached");
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            limiter.cancel();
+            rejectedByCircuit.incrementAndGet();
+            throw new UpstreamRejectedException("Upstream circuit breaker is open");
+        }
+
+        long start = System.nanoTime();
+        boolean failed = false;
+        boolean sampled = true;
+        try {
+            T result = upstreamCall.get();
+            sampled = sampleLatency.test(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            failed = isUpstreamFailure(e);
+            throw e;
+        } finally {
+            if (failed) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            if (sampled) {
+                limiter.release(endpoint, System.nanoTime() - start, failed);
+            } else {
+                limiter.cancel();
+            }
+        }
+    }
+
+    // Client errors (e.g. 404 for a point outside the US) say nothing about upstream health;
+    // an Error (say, a StackOverflowError in the extractor) is never a success
+    private static boolean isUpstreamFailure(Throwable e) {
+        return !(e instanceof HttpClientErrorException clientError)
+                || clientError.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    public int getConcurrencyLimit() {
+        return limiter.getLimit();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("weather.upstream.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Upstream circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .register(registry);
+        Gauge.builder("weather.upstream.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive limit on concurrent upstream calls")
+                .register(registry);
+        Gauge.builder("weather.upstream.concurrency.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .register(registry);
+        FunctionCounter.builder("weather.upstream.rejected", rejectedByCircuit, AtomicLong::get)
+                .tag("reason", "circuit-open")
+                .register(registry);
+        FunctionCounter.builder("weather.upstream.rejected", rejectedByLimit, AtomicLong::get)
+                .tag("reason", "concurrency-limit")
+                .register(registry);
+    }
+}
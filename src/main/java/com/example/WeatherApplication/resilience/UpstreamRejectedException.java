@@ -0,0 +1,12 @@
+package com.example.WeatherApplication.resilience;
+
+/**
+ * Thrown instead of calling upstream when the circuit is open or the concurrency limit
+ * is reached.
+ */
+public class UpstreamRejectedException extends RuntimeException {
+
+    public UpstreamRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.WeatherApplication.services;
+
+import com.example.WeatherApplication.models.BatchForecastResult;
+import com.example.WeatherApplication.models.Coordinate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface BatchForecastService {
+    List<BatchForecastResult> getForecasts(List<Coordinate> coordinates, LocalDate date, boolean metric);
+
+}
@@ -0,0 +1,10 @@
+package com.example.WeatherApplication.services;
+
+import com.example.WeatherApplication.models.ForecastHistory;
+
+import java.time.LocalDate;
+
+public interface ForecastHistoryService {
+    ForecastHistory getHistory(double lat, double lon, LocalDate from, LocalDate to, boolean metric);
+
+}
@@ -0,0 +1,6 @@
+package com.example.WeatherApplication.services;
+
+public interface GridPointService {
+    String getForecastUrl(double lat, double lon);
+
+}
@@ -0,0 +1,123 @@
+package com.example.WeatherApplication.services.Impl;
+
+import com.example.WeatherApplication.cache.CoordinateQuantizer;
+import com.example.WeatherApplication.models.BatchForecastResult;
+import com.example.WeatherApplication.models.Coordinate;
+import com.example.WeatherApplication.models.GridCell;
+import com.example.WeatherApplication.models.WeatherForecast;
+import com.example.WeatherApplication.services.BatchForecastService;
+import com.example.WeatherApplication.services.WeatherService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Resolves many coordinates at once. Coordinates sharing a grid cell are fetched once, and
+ * the distinct cells are fetched in parallel on the bounded {@code batchForecastExecutor}.
+ * Fetches still pending when the batch times out are cancelled, and cells the executor
+ * has no room for fail on their own rather than failing the batch.
+ */
+@Service
+public class BatchForecastServiceImpl implements BatchForecastService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchForecastServiceImpl.class);
+
+    private final WeatherService weatherService;
+    private final CoordinateQuantizer coordinateQuantizer;
+    private final AsyncTaskExecutor executor;
+
+    @Value("${weather.batch.timeout:30s}")
+    private Duration timeout = Duration.ofSeconds(30);
+
+    @Autowired
+    public BatchForecastServiceImpl(WeatherService weatherService, CoordinateQuantizer coordinateQuantizer,
+                                    @Qualifier("batchForecastExecutor") AsyncTaskExecutor executor) {
+        this.weatherService = weatherService;
+        this.coordinateQuantizer = coordinateQuantizer;
+        this.executor = executor;
+    }
+
+    @Override
+    public List<BatchForecastResult> getForecasts(List<Coordinate> coordinates, LocalDate date, boolean metric) {
+        // Fan out one fetch per distinct cell, using the first coordinate seen in that cell
+        Map<GridCell, Future<WeatherForecast>> fetches = new HashMap<>();
+        List<Future<WeatherForecast>> pending = new ArrayList<>(coordinates.size());
+        for (Coordinate coordinate : coordinates) {
+            if (validate(coordinate) != null) {
+                pending.add(null);
+                continue;
+            }
+            GridCell cell = coordinateQuantizer.quantize(coordinate.lat(), coordinate.lon());
+            pending.add(fetches.computeIfAbsent(cell, c -> submit(coordinate, date, metric)));
+        }
+        logger.debug("Batch of {} coordinates resolved to {} grid cells", coordinates.size(), fetches.size());
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        List<BatchForecastResult> results = new ArrayList<>(coordinates.size());
+        for (int i = 0; i < coordinates.size(); i++) {
+            Coordinate coordinate = coordinates.get(i);
+            Future<WeatherForecast> fetch = pending.get(i);
+            if (fetch == null) {
+                results.add(BatchForecastResult.failure(coordinate, validate(coordinate)));
+                continue;
+            }
+            results.add(await(coordinate, fetch, deadline));
+        }
+        return results;
+    }
+
+    private Future<WeatherForecast> submit(Coordinate coordinate, LocalDate date, boolean metric) {
+        try {
+            return executor.submit(() -> weatherService.getForecast(coordinate.lat(), coordinate.lon(), date, metric));
+        } catch (TaskRejectedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private BatchForecastResult await(Coordinate coordinate, Future<WeatherForecast> fetch, long deadline) {
+        try {
+            WeatherForecast forecast = fetch.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return BatchForecastResult.success(ForecastAssembler.relocate(forecast, coordinate.lat(), coordinate.lon()));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TaskRejectedException) {
+                return BatchForecastResult.failure(coordinate, "Too many batch fetches in progress, try again later");
+            }
+            return BatchForecastResult.failure(coordinate, "Error fetching weather data: " + e.getCause().getMessage());
+        } catch (TimeoutException | CancellationException e) {
+            // Nobody will read the result, so stop the fetch instead of letting it hold a worker
+            fetch.cancel(true);
+            return BatchForecastResult.failure(coordinate, "Timed out fetching weather data");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return BatchForecastResult.failure(coordinate, "Interrupted while fetching weather data");
+        }
+    }
+
+    private static String validate(Coordinate coordinate) {
+        if (coordinate.lat() < -90 || coordinate.lat() > 90) {
+            return "Latitude must be between -90 and 90 degrees";
+        }
+        if (coordinate.lon() < -180 || coordinate.lon() > 180) {
+            return "Longitude must be between -180 and 180 degrees";
+        }
+        return null;
+    }
+}
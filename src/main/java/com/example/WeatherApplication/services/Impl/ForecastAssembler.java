@@ -0,0 +1,201 @@
+package com.example.WeatherApplication.services.Impl;
+
+import com.example.WeatherApplication.models.CellForecast;
+import com.example.WeatherApplication.models.DailyForecast;
+import com.example.WeatherApplication.models.SummaryDictionary;
+import com.example.WeatherApplication.models.Temperature;
+import com.example.WeatherApplication.models.WeatherForecast;
+import com.example.WeatherApplication.models.Wind;
+import com.example.WeatherApplication.upstream.ForecastDocument;
+import com.example.WeatherApplication.upstream.ForecastPeriod;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns parsed upstream forecast periods into per-date {@link CellForecast} aggregates, and
+ * those into the {@link WeatherForecast} the API returns. Shared by the blocking and reactive
+ * service implementations.
+ */
+public final class ForecastAssembler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ForecastAssembler.class);
+
+    // Returned for dates outside the forecast, matching the old "no valid data" defaults
+    private static final DailyForecast UNAVAILABLE = new DailyForecast(65, 75, 5, 10,
+            SummaryDictionary.shared().intern(summary(null, null)), 0);
+
+    private ForecastAssembler() {
+    }
+
+    public static List<ForecastPeriod> requirePeriods(ForecastDocument document) {
+        // Extract the 'periods' list from the forecast data
+        if (!document.hasProperties()) {
+            logger.error("Forecast properties not found in the response");
+            throw new RuntimeException("Forecast properties not found in the response.");
+        }
+
+        List<ForecastPeriod> periods = document.periods();
+        if (periods == null || periods.isEmpty()) {
+            logger.error("The forecast periods data is missing or empty");
+            throw new RuntimeException("The forecast periods data is missing or empty.");
+        }
+
+        return periods;
+    }
+
+    /**
+     * Groups the periods by the local date they start on. Periods without a usable
+     * {@code startTime} are attributed to today.
+     */
+    public static CellForecast aggregate(List<ForecastPeriod> periods) {
+        LocalDate today = LocalDate.now();
+        Map<LocalDate, DayAccumulator> days = new HashMap<>();
+
+        for (ForecastPeriod period : periods) {
+            Boolean daytime = period.isDaytime();
+            if (daytime == null) {
+                if (period.name() == null) {
+                    logger.warn("Period has neither isDaytime nor a name, skipping this period");
+                    continue;
+                }
+                daytime = !isNightName(period.name());
+            }
+
+            days.computeIfAbsent(startDate(period.startTime(), today), d -> new DayAccumulator())
+                    .add(period, daytime);
+        }
+
+        Map<LocalDate, DailyForecast> result = new HashMap<>(days.size() * 2);
+        days.forEach((date, day) -> result.put(date, day.toDailyForecast()));
+        return new CellForecast(result);
+    }
+
+    public static WeatherForecast toForecast(double lat, double lon, LocalDate date, boolean metric,
+                                             CellForecast cellForecast) {
+        DailyForecast day = cellForecast.forDate(date);
+        if (day == null) {
+            logger.warn("No forecast periods for {}, using defaults", date);
+            day = UNAVAILABLE;
+        }
+        return toForecast(lat, lon, date, metric, day);
+    }
+
+    public static WeatherForecast toForecast(double lat, double lon, LocalDate date, boolean metric,
+                                             DailyForecast day) {
+        int minTemp = day.minTemperature();
+        int maxTemp = day.maxTemperature();
+        int minWindSpeed = day.minWindSpeed();
+        int maxWindSpeed = day.maxWindSpeed();
+
+        // Convert to metric units if required
+        if (metric) {
+            minTemp = (int) ((minTemp - 32) * 5 / 9); // Fahrenheit to Celsius
+            maxTemp = (int) ((maxTemp - 32) * 5 / 9); // Fahrenheit to Celsius
+            minWindSpeed = (int) (minWindSpeed * 1.60934); // MPH to KPH
+            maxWindSpeed = (int) (maxWindSpeed * 1.60934); // MPH to KPH
+        }
+
+        return new WeatherForecast(lat, lon, date,
+                day.summary(), new Temperature(maxTemp, minTemp),
+                new Wind(maxWindSpeed, minWindSpeed, "NW"), day.probabilityOfPrecipitation());
+    }
+
+    // Cached results are shared by the whole cell; echo back the caller's own coordinates
+    public static WeatherForecast relocate(WeatherForecast forecast, double lat, double lon) {
+        return new WeatherForecast(lat, lon, forecast.date(), forecast.forecast(),
+                forecast.temperature(), forecast.wind(), forecast.pop());
+    }
+
+    private static boolean isNightName(String name) {
+        return name.contains("night") || name.contains("Night") || name.contains("Tonight");
+    }
+
+    private static LocalDate startDate(String startTime, LocalDate today) {
+        if (startTime == null) {
+            return today;
+        }
+        try {
+            // The offset is the forecast office's, so this is the date at the location
+            return OffsetDateTime.parse(startTime).toLocalDate();
+        } catch (DateTimeParseException e) {
+            logger.warn("Could not parse period start time: {}", startTime);
+            return today;
+        }
+    }
+
+    private static String summary(String dayText, String nightText) {
+        return "Day: " + (dayText != null ? dayText : "No day forecast available")
+                + " – Night: " + (nightText != null ? nightText : "No night forecast available");
+    }
+
+    private static final class DayAccumulator {
+        private int minTemp = Integer.MAX_VALUE;
+        private int maxTemp = Integer.MIN_VALUE;
+        private int minWindSpeed = Integer.MAX_VALUE;
+        private int maxWindSpeed = Integer.MIN_VALUE;
+        private int pop = 0;
+        private String dayText;
+        private String nightText;
+
+        void add(ForecastPeriod period, boolean daytime) {
+            Integer temperature = period.temperature();
+            if (temperature != null) {
+                minTemp = Math.min(minTemp, temperature);
+                maxTemp = Math.max(maxTemp, temperature);
+            }
+
+            addWindSpeed(period.windSpeed());
+
+            if (period.probabilityOfPrecipitation() != null) {
+                pop = Math.max(pop, period.probabilityOfPrecipitation());
+            }
+
+            String shortForecast = period.shortForecast() != null ? period.shortForecast() : "No forecast available";
+            if (daytime) {
+                dayText = dayText == null ? shortForecast : dayText + "; " + shortForecast;
+            } else {
+                nightText = nightText == null ? shortForecast : nightText + "; " + shortForecast;
+            }
+        }
+
+        // Accepts "10 mph", "10 to 15 mph" and bare numbers; every number found counts
+        private void addWindSpeed(String windSpeed) {
+            if (windSpeed == null) {
+                return;
+            }
+            int value = -1;
+            for (int i = 0; i <= windSpeed.length(); i++) {
+                char c = i < windSpeed.length() ? windSpeed.charAt(i) : ' ';
+                if (c >= '0' && c <= '9') {
+                    value = (value < 0 ? 0 : value * 10) + (c - '0');
+                } else if (value >= 0) {
+                    minWindSpeed = Math.min(minWindSpeed, value);
+                    maxWindSpeed = Math.max(maxWindSpeed, value);
+                    value = -1;
+                }
+            }
+        }
+
+        DailyForecast toDailyForecast() {
+            // Handle case where no valid data was found
+            if (minTemp == Integer.MAX_VALUE) {
+                minTemp = 65;
+                maxTemp = 75;
+            }
+            if (minWindSpeed == Integer.MAX_VALUE) {
+                minWindSpeed = 5;
+                maxWindSpeed = 10;
+            }
+            // Cached for the lifetime of the entry, so share the text with every other cell saying the same
+            return new DailyForecast(minTemp, maxTemp, minWindSpeed, maxWindSpeed,
+                    SummaryDictionary.shared().intern(summary(dayText, nightText)), pop);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.WeatherApplication.services.Impl;
+
+import com.example.WeatherApplication.cache.CoordinateQuantizer;
+import com.example.WeatherApplication.models.ArchivedForecast;
+import com.example.WeatherApplication.models.ForecastDay;
+import com.example.WeatherApplication.models.ForecastHistory;
+import com.example.WeatherApplication.models.ForecastSnapshot;
+import com.example.WeatherApplication.models.GridCell;
+import com.example.WeatherApplication.repositories.ArchivedForecastRepository;
+import com.example.WeatherApplication.services.ForecastHistoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Answers history queries from the archive written by
+ * {@link com.example.WeatherApplication.archive.ForecastArchive}. A location is quantized to
+ * its grid cell exactly as for live forecasts, so the range is one index scan over that cell.
+ */
+@Service
+public class ForecastHistoryServiceImpl implements ForecastHistoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ForecastHistoryServiceImpl.class);
+
+    private final ArchivedForecastRepository repository;
+    private final CoordinateQuantizer coordinateQuantizer;
+
+    @Value("${weather.archive.max-range-days:366}")
+    private int maxRangeDays = 366;
+
+    @Autowired
+    public ForecastHistoryServiceImpl(ArchivedForecastRepository repository, CoordinateQuantizer coordinateQuantizer) {
+        this.repository = repository;
+        this.coordinateQuantizer = coordinateQuantizer;
+    }
+
+    @Override
+    public ForecastHistory getHistory(double lat, double lon, LocalDate from, LocalDate to, boolean metric) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("The start date must not be after the end date.");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxRangeDays) {
+            throw new IllegalArgumentException("The date range must not exceed " + maxRangeDays + " days.");
+        }
+
+        GridCell cell = coordinateQuantizer.quantize(lat, lon);
+        List<ArchivedForecast> rows = repository
+                .findByCellKeyAndForecastDateBetweenOrderByForecastDateAscRecordedAtAsc(ForecastDay.key(cell), from, to);
+
+        List<ForecastSnapshot> snapshots = new ArrayList<>(rows.size());
+        for (ArchivedForecast row : rows) {
+            snapshots.add(new ForecastSnapshot(row.getRecordedAt(), ForecastAssembler.toForecast(
+                    lat, lon, row.getForecastDate(), metric, row.toDailyForecast())));
+        }
+        logger.debug("History for {},{} (cell {}) from {} to {}: {} snapshots", lat, lon, cell, from, to, snapshots.size());
+        return new ForecastHistory(lat, lon, from, to, snapshots);
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.WeatherApplication.services.Impl;
+
+import com.example.WeatherApplication.cache.CachedForecast;
+import com.example.WeatherApplication.cache.ForecastCache;
+import com.example.WeatherApplication.cache.HotCellTracker;
+import com.example.WeatherApplication.models.GridCell;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Refresh-ahead for the hottest grid cells: shortly before a hot cell's forecast expires it
+ * is re-fetched in the background, so requests keep hitting the still-valid entry instead
+ * of the first caller after expiry paying for the upstream round trips.
+ */
+@Component
+public class ForecastRefreshScheduler implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ForecastRefreshScheduler.class);
+
+    private final WeatherServiceImpl weatherService;
+    private final ForecastCache forecastCache;
+    private final HotCellTracker hotCellTracker;
+    private final Executor executor;
+    private final Set<GridCell> refreshing = ConcurrentHashMap.newKeySet();
+    private final AtomicLong refreshed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong deferred = new AtomicLong();
+
+    @Value("${weather.cache.refresh.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${weather.cache.refresh.top-n:500}")
+    private int topN = 500;
+
+    @Value("${weather.cache.refresh.ahead:2m}")
+    private Duration refreshAhead = Duration.ofMinutes(2);
+
+    @Value("${weather.cache.refresh.jitter:1m}")
+    private Duration jitter = Duration.ofMinutes(1);
+
+    @Value("${weather.cache.refresh.interval:PT10S}")
+    private Duration interval = Duration.ofSeconds(10);
+
+    @Value("${weather.cache.refresh.max-per-second:5}")
+    private double maxPerSecond = 5;
+
+    @Autowired
+    public ForecastRefreshScheduler(WeatherServiceImpl weatherService, ForecastCache forecastCache,
+                                    HotCellTracker hotCellTracker,
+                                    @Qualifier("forecastRefreshExecutor") Executor executor) {
+        this.weatherService = weatherService;
+        this.forecastCache = forecastCache;
+        this.hotCellTracker = hotCellTracker;
+        this.executor = executor;
+    }
+
+    @Scheduled(fixedDelayString = "${weather.cache.refresh.interval:PT10S}",
+            initialDelayString = "${weather.cache.refresh.interval:PT10S}")
+    public void refreshHotEntries() {
+        if (!enabled) {
+            return;
+        }
+
+        // The rate budget is spread evenly over the ticks rather than spent in bursts
+        long budget = Math.max(1, Math.round(maxPerSecond * interval.toMillis() / 1000.0));
+        Instant now = Instant.now();
+
+        for (GridCell cell : hotCellTracker.hottest(topN)) {
+            CachedForecast cached = forecastCache.get(cell);
+            // Evicted: the next request fetches it through the normal path
+            if (cached == null || !isDue(cell, cached, now) || refreshing.contains(cell)) {
+                continue;
+            }
+            if (budget == 0) {
+                deferred.incrementAndGet();
+                continue;
+            }
+            budget--;
+            refreshing.add(cell);
+            try {
+                executor.execute(() -> refresh(cell));
+            } catch (RuntimeException e) {
+                // Rejected (e.g. during shutdown): leave the cell to a later tick
+                refreshing.remove(cell);
+                failed.incrementAndGet();
+                logger.warn("Could not schedule refresh-ahead for cell {}: {}", cell, e.getMessage());
+            }
+        }
+
+        hotCellTracker.decay();
+    }
+
+    // Each entry picks its own point in [ahead - jitter, ahead] before expiry, so entries
+    // that expire together (upstream rolls forecasts over on the hour) are not refreshed together.
+    // The point is derived from the cell and its fetch time, so it stays put across ticks
+    private boolean isDue(GridCell cell, CachedForecast cached, Instant now) {
+        long jitterMillis = jitter.toMillis() > 0
+                ? Math.floorMod(mix(cell.hashCode() * 31L + cached.fetchedAt().toEpochMilli()), jitter.toMillis() + 1)
+                : 0;
+        Duration lead = refreshAhead.minusMillis(jitterMillis);
+        return !cached.expiresAt().isAfter(now.plus(lead));
+    }
+
+    // Spreads neighbouring cells and fetch times over the whole jitter range
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    private void refresh(GridCell cell) {
+        try {
+            weatherService.refresh(cell);
+            refreshed.incrementAndGet();
+        } catch (RuntimeException e) {
+            // The current entry stays in place until it expires
+            failed.incrementAndGet();
+            logger.warn("Refresh-ahead failed for cell {}: {}", cell, e.getMessage());
+        } finally {
+            refreshing.remove(cell);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("weather.cache.refresh", refreshed, AtomicLong::get)
+                .tag("result", "refreshed")
+                .description("Hot cells re-fetched ahead of expiry")
+                .register(registry);
+        FunctionCounter.builder("weather.cache.refresh", failed, AtomicLong::get)
+                .tag("result", "failed")
+                .register(registry);
+        FunctionCounter.builder("weather.cache.refresh", deferred, AtomicLong::get)
+                .tag("result", "deferred")
+                .description("Due refreshes skipped because the rate budget was spent")
+                .register(registry);
+    }
+
+    public long getRefreshedCount() {
+        return refreshed.get();
+    }
+
+    public long getDeferredCount() {
+        return deferred.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.WeatherApplication.services.Impl;
+
+import com.example.WeatherApplication.config.CacheConfig;
+import com.example.WeatherApplication.metrics.ForecastMetrics;
+import com.example.WeatherApplication.models.GridPoint;
+import com.example.WeatherApplication.repositories.GridPointRepository;
+import com.example.WeatherApplication.resilience.UpstreamGuard;
+import com.example.WeatherApplication.services.GridPointService;
+import com.example.WeatherApplication.upstream.ForecastResponseParser;
+import com.example.WeatherApplication.upstream.PointsDocument;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Resolves a coordinate to its gridpoint forecast URL. Lookups go through the in-heap
+ * {@value CacheConfig#GRID_POINTS_CACHE} cache first, then the optional persistent tier,
+ * and only reach {@code /points} when both miss.
+ */
+@Service
+public class GridPointServiceImpl implements GridPointService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GridPointServiceImpl.class);
+
+    private final RestTemplate restTemplate;
+    private final GridPointRepository gridPointRepository;
+    private final UpstreamGuard upstreamGuard;
+    private final ForecastMetrics forecastMetrics;
+
+    @Value("${weather.api.base-url:https://api.weather.gov}")
+    private String weatherApiBaseUrl;
+
+    @Value("${weather.cache.grid.persistent:true}")
+    private boolean persistent;
+
+    @Value("${weather.cache.grid.persistent-ttl:30d}")
+    private Duration persistentTtl;
+
+    @Autowired
+    public GridPointServiceImpl(RestTemplate restTemplate, GridPointRepository gridPointRepository,
+                                UpstreamGuard upstreamGuard, ForecastMetrics forecastMetrics) {
+        this.restTemplate = restTemplate;
+        this.gridPointRepository = gridPointRepository;
+        this.upstreamGuard = upstreamGuard;
+        this.forecastMetrics = forecastMetrics;
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.GRID_POINTS_CACHE, key = "T(com.example.WeatherApplication.models.GridPoint).key(#lat, #lon)")
+    public String getForecastUrl(double lat, double lon) {
+        String key = GridPoint.key(lat, lon);
+
+        if (persistent) {
+            Optional<GridPoint> stored = gridPointRepository.findById(key);
+            if (stored.isPresent() && stored.get().getResolvedAt().plus(persistentTtl).isAfter(Instant.now())) {
+                logger.debug("Grid point for {} served from persistent store", key);
+                return stored.get().getForecastUrl();
+            }
+        }
+
+        String forecastUrl = fetchForecastUrl(key);
+
+        if (persistent) {
+            try {
+                gridPointRepository.save(new GridPoint(key, forecastUrl, Instant.now()));
+            } catch (RuntimeException e) {
+                // The persistent tier is an optimisation; never fail a lookup because of it
+                logger.warn("Could not persist grid point for {}: {}", key, e.getMessage());
+            }
+        }
+        return forecastUrl;
+    }
+
+    private String fetchForecastUrl(String key) {
+        // Build the URL using the points endpoint to fetch forecast data
+        String url = weatherApiBaseUrl + "/points/" + key;
+        logger.debug("Fetching weather data from: {}", url);
+
+        // Fetch and stream-parse the response from the Weather API
+        PointsDocument response;
+        try {
+            response = upstreamGuard.call("points", () -> forecastMetrics.callUpstream(ForecastMetrics.Endpoint.POINTS, url, exchange ->
+                    restTemplate.execute(url, HttpMethod.GET, null, points -> parsePoints(exchange.received(points)))));
+        } catch (HttpClientErrorException e) {
+            logger.error("HTTP error when fetching weather data: {}", e.getMessage());
+            throw new RuntimeException("Error fetching weather data: " + e.getMessage(), e);
+        } catch (ResourceAccessException e) {
+            logger.error("Network error when fetching weather data: {}", e.getMessage());
+            throw new RuntimeException("Network error: " + e.getMessage(), e);
+        } catch (RestClientException e) {
+            logger.error("REST client error when fetching weather data: {}", e.getMessage());
+            throw new RuntimeException("REST client error: " + e.getMessage(), e);
+        }
+
+        return requireForecastUrl(response);
+    }
+
+    static String requireForecastUrl(PointsDocument response) {
+        if (response == null) {
+            logger.error("Weather data response is null");
+            throw new RuntimeException("The weather data response is null.");
+        }
+
+        // Get the 'forecast' URL from the response
+        if (!response.hasProperties()) {
+            logger.error("Properties not found in the response");
+            throw new RuntimeException("Properties not found in the response.");
+        }
+
+        String forecastUrl = response.forecastUrl();
+        if (forecastUrl == null) {
+            logger.error("Forecast URL not found in the response");
+            throw new RuntimeException("Forecast URL not found in the response.");
+        }
+        return forecastUrl;
+    }
+
+    private static PointsDocument parsePoints(InputStream body) throws IOException {
+        try {
+            return ForecastResponseParser.parsePoints(body);
+        } catch (JsonProcessingException e) {
+            throw new RestClientException("Malformed points response: " + e.getOriginalMessage(), e);
+        }
+    }
+}
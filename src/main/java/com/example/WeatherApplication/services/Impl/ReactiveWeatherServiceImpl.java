@@ -0,0 +1,162 @@
+package com.example.WeatherApplication.services.Impl;
+
+import com.example.WeatherApplication.archive.ForecastArchive;
+import com.example.WeatherApplication.cache.CachedForecast;
+import com.example.WeatherApplication.cache.CoordinateQuantizer;
+import com.example.WeatherApplication.cache.ForecastCache;
+import com.example.WeatherApplication.cache.ForecastStore;
+import com.example.WeatherApplication.cache.HttpCacheTtl;
+import com.example.WeatherApplication.config.CacheConfig;
+import com.example.WeatherApplication.models.CellForecast;
+import com.example.WeatherApplication.models.GridCell;
+import com.example.WeatherApplication.models.GridPoint;
+import com.example.WeatherApplication.models.WeatherForecast;
+import com.example.WeatherApplication.services.ReactiveWeatherService;
+import com.example.WeatherApplication.upstream.ForecastDocument;
+import com.example.WeatherApplication.upstream.ForecastResponseParser;
+import com.example.WeatherApplication.upstream.PointsDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Non-blocking counterpart of {@link WeatherServiceImpl}. It shares the grid-point and
+ * forecast caches; grid-point misses go straight to {@code /points} because the
+ * persistent tier is JPA and therefore blocking. Fetched forecasts are still queued for
+ * the forecast store and archive, whose writes happen behind on their own threads.
+ */
+@Service
+@ConditionalOnProperty(name = "weather.execution-mode", havingValue = "reactive")
+public class ReactiveWeatherServiceImpl implements ReactiveWeatherService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveWeatherServiceImpl.class);
+
+    private final WebClient webClient;
+    private final Cache gridPointsCache;
+    private final CoordinateQuantizer coordinateQuantizer;
+    private final ForecastCache forecastCache;
+    private final ForecastStore forecastStore;
+    private final ForecastArchive forecastArchive;
+
+    // Concurrent misses for the same cell subscribe to one shared upstream fetch
+    private final ConcurrentMap<GridCell, Mono<CellForecast>> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${weather.api.base-url:https://api.weather.gov}")
+    private String weatherApiBaseUrl = "https://api.weather.gov";
+
+    @Value("${weather.cache.forecast.default-ttl:10m}")
+    private Duration defaultForecastTtl = Duration.ofMinutes(10);
+
+    @Value("${weather.cache.forecast.max-ttl:1h}")
+    private Duration maxForecastTtl = Duration.ofHours(1);
+
+    @Autowired
+    public ReactiveWeatherServiceImpl(WebClient weatherWebClient, CacheManager cacheManager,
+                                      CoordinateQuantizer coordinateQuantizer, ForecastCache forecastCache,
+                                      ForecastStore forecastStore, ForecastArchive forecastArchive) {
+        this.webClient = weatherWebClient;
+        this.gridPointsCache = cacheManager.getCache(CacheConfig.GRID_POINTS_CACHE);
+        this.coordinateQuantizer = coordinateQuantizer;
+        this.forecastCache = forecastCache;
+        this.forecastStore = forecastStore;
+        this.forecastArchive = forecastArchive;
+    }
+
+    @Override
+    public Mono<WeatherForecast> getForecast(double lat, double lon, LocalDate date, boolean metric) {
+        LocalDate forecastDate = date != null ? date : LocalDate.now();
+        GridCell cell = coordinateQuantizer.quantize(lat, lon);
+
+        CachedForecast cached = forecastCache.get(cell);
+        if (cached != null && cached.isFresh(Instant.now())) {
+            logger.debug("Forecast cache hit for {},{} (cell {})", lat, lon, cell);
+            return Mono.just(ForecastAssembler.toForecast(lat, lon, forecastDate, metric, cached.forecast()));
+        }
+
+        return inFlight.computeIfAbsent(cell, c -> fetchForecast(c)
+                        .doFinally(signal -> inFlight.remove(c))
+                        .cache())
+                .map(cellForecast -> ForecastAssembler.toForecast(lat, lon, forecastDate, metric, cellForecast));
+    }
+
+    private Mono<CellForecast> fetchForecast(GridCell cell) {
+        return forecastUrl(cell)
+                .doOnNext(url -> logger.debug("Fetching forecast data from: {}", url))
+                .flatMap(url -> webClient.get().uri(URI.create(url)).retrieve().toEntity(byte[].class))
+                .map(entity -> {
+                    ForecastDocument document = parse(entity.getBody(), ForecastResponseParser::parseForecast);
+                    if (document == null) {
+                        throw new IllegalStateException("The forecast data response is null.");
+                    }
+                    CellForecast result = ForecastAssembler.aggregate(ForecastAssembler.requirePeriods(document));
+                    CachedForecast previous = forecastCache.get(cell);
+                    HttpHeaders headers = entity.getHeaders();
+                    CachedForecast stored = forecastCache.put(cell, result,
+                            HttpCacheTtl.fromHeaders(headers, defaultForecastTtl, maxForecastTtl),
+                            headers.getETag(), headers.getFirst(HttpHeaders.LAST_MODIFIED));
+                    // Both only queue for their write-behind, so they are safe on the event loop
+                    if (stored != null) {
+                        forecastStore.enqueue(cell, stored);
+                    }
+                    forecastArchive.record(cell, previous != null ? previous.forecast() : null, result);
+                    return result;
+                })
+                .onErrorMap(e -> {
+                    logger.error("Unexpected error in getForecast: {}", e.getMessage());
+                    return new RuntimeException("Error getting weather forecast: " + e.getMessage(), e);
+                });
+    }
+
+    private Mono<String> forecastUrl(GridCell cell) {
+        String key = GridPoint.key(cell.centerLatitude(), cell.centerLongitude());
+        String cachedUrl = gridPointsCache != null ? gridPointsCache.get(key, String.class) : null;
+        if (cachedUrl != null) {
+            return Mono.just(cachedUrl);
+        }
+
+        String url = weatherApiBaseUrl + "/points/" + key;
+        logger.debug("Fetching weather data from: {}", url);
+        return webClient.get().uri(URI.create(url)).retrieve().bodyToMono(byte[].class)
+                .defaultIfEmpty(new byte[0])
+                .map(body -> GridPointServiceImpl.requireForecastUrl(parse(body, ForecastResponseParser::parsePoints)))
+                .doOnNext(forecastUrl -> {
+                    if (gridPointsCache != null) {
+                        gridPointsCache.put(key, forecastUrl);
+                    }
+                });
+    }
+
+    private static <T> T parse(byte[] body, Parser<T> parser) {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        try {
+            return parser.parse(new ByteArrayInputStream(body));
+        } catch (IOException e) {
+            throw new DecodingException("Malformed upstream response: " + e.getMessage(), e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Parser<T> {
+        T parse(ByteArrayInputStream body) throws IOException;
+    }
+}
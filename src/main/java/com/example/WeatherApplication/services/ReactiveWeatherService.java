@@ -0,0 +1,11 @@
+package com.example.WeatherApplication.services;
+
+import com.example.WeatherApplication.models.WeatherForecast;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+public interface ReactiveWeatherService {
+    Mono<WeatherForecast> getForecast(double lat, double lon, LocalDate date, boolean metric);
+
+}
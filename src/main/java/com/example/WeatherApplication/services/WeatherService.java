@@ -1,5 +1,6 @@
 package com.example.WeatherApplication.services;
 
+import com.example.WeatherApplication.models.ForecastResult;
 import com.example.WeatherApplication.models.WeatherForecast;
 
 import java.time.LocalDate;
@@ -7,4 +8,7 @@ import java.time.LocalDate;
 public interface WeatherService {
     WeatherForecast getForecast(double lat, double lon, LocalDate date, boolean metric);
 
+    // Same as getForecast, plus how fresh the answer is
+    ForecastResult getForecastResult(double lat, double lon, LocalDate date, boolean metric);
+
 }
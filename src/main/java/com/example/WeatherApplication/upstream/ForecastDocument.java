@@ -0,0 +1,9 @@
+package com.example.WeatherApplication.upstream;
+
+import java.util.List;
+
+/**
+ * The only parts of a gridpoint forecast response the service uses. {@code periods} is
+ * null when the response has no periods array.
+ */
+public record ForecastDocument(boolean hasProperties, List<ForecastPeriod> periods) {}
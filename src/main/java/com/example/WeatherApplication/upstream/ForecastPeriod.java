@@ -0,0 +1,9 @@
+package com.example.WeatherApplication.upstream;
+
+/**
+ * One entry of {@code properties.periods} in a gridpoint forecast. Any field may be
+ * null when upstream omits it. {@code startTime} is kept as the raw ISO-8601 text and
+ * {@code probabilityOfPrecipitation} is the percentage from its {@code value} field.
+ */
+public record ForecastPeriod(String name, String startTime, Boolean isDaytime, Integer temperature,
+                             String windSpeed, String shortForecast, Integer probabilityOfPrecipitation) {}
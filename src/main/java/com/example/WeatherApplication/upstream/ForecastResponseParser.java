@@ -0,0 +1,178 @@
+package com.example.WeatherApplication.upstream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming parsers for api.weather.gov responses. Only the handful of fields the service
+ * needs are read; everything else (geometry, elevation, detailed text, ...) is skipped
+ * token by token without ever being materialized.
+ */
+public final class ForecastResponseParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private ForecastResponseParser() {
+    }
+
+    /**
+     * @return the parsed document, or null when the body is empty
+     */
+    public static PointsDocument parsePoints(InputStream body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (!startObject(parser)) {
+                return null;
+            }
+            boolean hasProperties = false;
+            String forecastUrl = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("properties".equals(field) && value == JsonToken.START_OBJECT) {
+                    hasProperties = true;
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String property = parser.currentName();
+                        JsonToken propertyValue = parser.nextToken();
+                        if ("forecast".equals(property) && propertyValue == JsonToken.VALUE_STRING) {
+                            forecastUrl = parser.getText();
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return new PointsDocument(hasProperties, forecastUrl);
+        }
+    }
+
+    /**
+     * @return the parsed document, or null when the body is empty
+     */
+    public static ForecastDocument parseForecast(InputStream body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (!startObject(parser)) {
+                return null;
+            }
+            boolean hasProperties = false;
+            List<ForecastPeriod> periods = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("properties".equals(field) && value == JsonToken.START_OBJECT) {
+                    hasProperties = true;
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String property = parser.currentName();
+                        JsonToken propertyValue = parser.nextToken();
+                        if ("periods".equals(property) && propertyValue == JsonToken.START_ARRAY) {
+                            periods = parsePeriods(parser);
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return new ForecastDocument(hasProperties, periods);
+        }
+    }
+
+    private static List<ForecastPeriod> parsePeriods(JsonParser parser) throws IOException {
+        List<ForecastPeriod> periods = new ArrayList<>(16);
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String name = null;
+            String startTime = null;
+            Boolean isDaytime = null;
+            Integer temperature = null;
+            String windSpeed = null;
+            String shortForecast = null;
+            Integer probabilityOfPrecipitation = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "name" -> name = text(parser, value);
+                    case "startTime" -> startTime = text(parser, value);
+                    case "isDaytime" -> isDaytime = bool(parser, value);
+                    case "temperature" -> temperature = integer(parser, value);
+                    case "windSpeed" -> windSpeed = text(parser, value);
+                    case "shortForecast" -> shortForecast = text(parser, value);
+                    case "probabilityOfPrecipitation" -> probabilityOfPrecipitation = quantityValue(parser, value);
+                    default -> parser.skipChildren();
+                }
+            }
+            periods.add(new ForecastPeriod(name, startTime, isDaytime, temperature, windSpeed,
+                    shortForecast, probabilityOfPrecipitation));
+        }
+        return periods;
+    }
+
+    private static boolean startObject(JsonParser parser) throws IOException {
+        JsonToken first = parser.nextToken();
+        if (first == null) {
+            return false;
+        }
+        if (first != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a JSON object but found " + first);
+        }
+        return true;
+    }
+
+    // Scalars are accepted as either JSON strings or numbers; containers are skipped
+    private static String text(JsonParser parser, JsonToken value) throws IOException {
+        if (value.isScalarValue() && value != JsonToken.VALUE_NULL) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private static Boolean bool(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_TRUE || value == JsonToken.VALUE_FALSE) {
+            return value == JsonToken.VALUE_TRUE;
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    // Quantities look like {"unitCode": "wmoUnit:percent", "value": 20}
+    private static Integer quantityValue(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.START_OBJECT) {
+            return integer(parser, value);
+        }
+        Integer result = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken fieldValue = parser.nextToken();
+            if ("value".equals(field)) {
+                result = integer(parser, fieldValue);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return result;
+    }
+
+    private static Integer integer(JsonParser parser, JsonToken value) throws IOException {
+        if (value.isNumeric()) {
+            return parser.getValueAsInt();
+        }
+        if (value == JsonToken.VALUE_STRING) {
+            try {
+                return Integer.parseInt(parser.getText().trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        parser.skipChildren();
+        return null;
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.WeatherApplication.upstream;
+
+/**
+ * The only parts of a {@code /points} response the service uses.
+ */
+public record PointsDocument(boolean hasProperties, String forecastUrl) {}
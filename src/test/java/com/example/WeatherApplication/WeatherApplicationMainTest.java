@@ -5,7 +5,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 
-@SpringBootTest
+// In-memory so test runs neither read nor leave behind database or cache files
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:weatherdb", "weather.cache.offheap.enabled=false"})
 class WeatherApplicationMainTest {
 
     @Test
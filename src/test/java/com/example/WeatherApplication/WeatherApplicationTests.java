@@ -26,7 +26,8 @@ import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.ArgumentMatchers.eq;
 
-@SpringBootTest
+// In-memory so test runs neither read nor leave behind database or cache files
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:weatherdb", "weather.cache.offheap.enabled=false"})
 @AutoConfigureMockMvc
 class WeatherApplicationTests {
 
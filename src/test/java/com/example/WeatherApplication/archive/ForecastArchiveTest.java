@@ -0,0 +1,103 @@
+package com.example.WeatherApplication.archive;
+
+import com.example.WeatherApplication.models.ArchivedForecast;
+import com.example.WeatherApplication.models.CellForecast;
+import com.example.WeatherApplication.models.DailyForecast;
+import com.example.WeatherApplication.models.ForecastDay;
+import com.example.WeatherApplication.models.GridCell;
+import com.example.WeatherApplication.repositories.ArchivedForecastRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ForecastArchiveTest {
+
+    private static final GridCell CELL = new GridCell(1, 1, 0.02);
+    private static final LocalDate MONDAY = LocalDate.of(2024, 6, 10);
+    private static final LocalDate TUESDAY = MONDAY.plusDays(1);
+    private static final DailyForecast SUNNY = new DailyForecast(55, 68, 5, 15, "Day: Sunny", 10);
+    private static final DailyForecast RAINY = new DailyForecast(50, 60, 10, 20, "Day: Rain", 90);
+
+    private final ArchivedForecastRepository repository = mock(ArchivedForecastRepository.class);
+    private ForecastArchive archive;
+
+    @BeforeEach
+    void setUp() {
+        archive = new ForecastArchive(repository);
+    }
+
+    @Test
+    void testRecord_OnlyChangedDatesAreQueued() {
+        CellForecast previous = new CellForecast(Map.of(MONDAY, SUNNY, TUESDAY, SUNNY));
+        CellForecast current = new CellForecast(Map.of(MONDAY, SUNNY, TUESDAY, RAINY));
+
+        archive.record(CELL, previous, current);
+
+        List<ArchivedForecast> rows = flushedRows(1);
+        assertEquals(1, rows.size());
+        assertEquals(TUESDAY, rows.get(0).getForecastDate());
+        assertEquals(RAINY, rows.get(0).toDailyForecast());
+    }
+
+    @Test
+    void testRecord_EveryDateQueuedWithoutPreviousForecast() {
+        archive.record(CELL, null, new CellForecast(Map.of(MONDAY, SUNNY, TUESDAY, RAINY)));
+
+        assertEquals(2, archive.getPendingCount());
+        assertEquals(2, flushedRows(1).size());
+        assertEquals(0, archive.getPendingCount());
+    }
+
+    @Test
+    void testFlush_SkipsDatesRepeatingTheArchiveWhenNothingWasCached() {
+        when(repository.findLatest(eq(ForecastDay.key(CELL)), any()))
+                .thenReturn(List.of(new ArchivedForecast(CELL, MONDAY, SUNNY, Instant.parse("2024-06-09T12:00:00Z"))));
+
+        archive.record(CELL, null, new CellForecast(Map.of(MONDAY, SUNNY, TUESDAY, RAINY)));
+        // Evicted again before the flush: the same snapshot once more, still without a predecessor
+        archive.record(CELL, null, new CellForecast(Map.of(MONDAY, SUNNY, TUESDAY, RAINY)));
+
+        List<ArchivedForecast> rows = flushedRows(1);
+        assertEquals(1, rows.size());
+        assertEquals(TUESDAY, rows.get(0).getForecastDate());
+        assertEquals(3, archive.getUnchangedCount());
+    }
+
+    @Test
+    void testFlush_WritesInBatches() {
+        ReflectionTestUtils.setField(archive, "batchSize", 1);
+        archive.record(CELL, null, new CellForecast(Map.of(MONDAY, SUNNY, TUESDAY, RAINY)));
+
+        assertEquals(2, flushedRows(2).size());
+    }
+
+    @Test
+    void testRecord_DropsRowsWhenQueueIsFull() {
+        ReflectionTestUtils.setField(archive, "maxPending", 1);
+
+        archive.record(CELL, null, new CellForecast(Map.of(MONDAY, SUNNY, TUESDAY, RAINY)));
+
+        assertEquals(1, archive.getPendingCount());
+        assertEquals(1, archive.getDroppedCount());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ArchivedForecast> flushedRows(int batches) {
+        archive.flush();
+        ArgumentCaptor<Iterable<ArchivedForecast>> captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(repository, times(batches)).saveAll(captor.capture());
+        List<ArchivedForecast> rows = new ArrayList<>();
+        captor.getAllValues().forEach(batch -> batch.forEach(rows::add));
+        return rows;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.WeatherApplication.benchmark;
+
+import com.example.WeatherApplication.WeatherApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Starts the full application on a random port against a simulated upstream. Each start gets
+ * its own in-memory database and no off-heap tier, so no run inherits cached forecasts from
+ * an earlier one through ./data.
+ */
+final class BenchmarkService {
+
+    private BenchmarkService() {
+    }
+
+    static ConfigurableApplicationContext start(String upstreamUrl, Map<String, ?> overrides) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", 0);
+        properties.put("weather.api.base-url", upstreamUrl);
+        properties.put("spring.datasource.url", "jdbc:h2:mem:benchmark-" + System.nanoTime());
+        properties.put("weather.cache.offheap.enabled", false);
+        properties.put("logging.level.com.example.WeatherApplication", "WARN");
+        properties.put("spring.jpa.show-sql", false);
+        properties.putAll(overrides);
+        // Passed as command-line arguments so they take precedence over application.properties
+        String[] args = properties.entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(WeatherApplication.class).run(args);
+    }
+
+    static String url(ConfigurableApplicationContext context) {
+        return "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.WeatherApplication.benchmark;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Drives {@code /weather/forecast} end to end, through {@code WeatherController}, caching and
+ * the upstream guards, against the recorded upstream in {@link UpstreamSimulator}. For each
+ * concurrency level it reports throughput, the latency histogram, and how many upstream
+ * requests each service request cost (amplification; background refreshes count too).
+ * Not a unit test; run it with
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.WeatherApplication.benchmark.ForecastLoadBenchmark \
+ *     -Dexec.args="--concurrency=50,200 --requests=20000 --locations=hot:2000 --latency=lognormal:80,400 \
+ *         --error-rate=0.01 --throttle=30s/3s --cache-control=max-age=600"
+ * </pre>
+ * {@code --locations} takes {@code distinct} or {@code hot:<count>[:<zipf exponent>]} and
+ * {@code --latency} a distribution as described in {@link UpstreamSimulator.Latency}. Any
+ * other option with a dot in its name, such as {@code --weather.upstream.hedging.enabled=true},
+ * is passed to the service as a property. The same {@code --seed} repeats the same run.
+ */
+public class ForecastLoadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = BenchmarkService.parseOptions(args);
+        int[] concurrencyLevels = Arrays.stream(options.getOrDefault("concurrency", "50,200").split(","))
+                .mapToInt(Integer::parseInt).toArray();
+        int requests = Integer.parseInt(options.getOrDefault("requests", "20000"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "500"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        String locations = options.getOrDefault("locations", "hot:2000");
+
+        String throttle = options.getOrDefault("throttle", "none");
+        Duration throttlePeriod = Duration.ZERO;
+        Duration throttleLength = Duration.ZERO;
+        if (!"none".equals(throttle)) {
+            throttlePeriod = DurationStyle.detectAndParse(throttle.split("/")[0]);
+            throttleLength = DurationStyle.detectAndParse(throttle.split("/")[1]);
+        }
+        UpstreamSimulator.Profile profile = new UpstreamSimulator.Profile(
+                UpstreamSimulator.Latency.parse(options.getOrDefault("latency", "lognormal:80,400")),
+                Double.parseDouble(options.getOrDefault("error-rate", "0")),
+                throttlePeriod, throttleLength,
+                options.getOrDefault("cache-control", "max-age=600"), seed);
+
+        Map<String, String> properties = new HashMap<>();
+        options.forEach((name, value) -> {
+            if (name.contains(".")) {
+                properties.put(name, value);
+            }
+        });
+
+        try (UpstreamSimulator upstream = UpstreamSimulator.start(profile);
+             ConfigurableApplicationContext context = BenchmarkService.start(upstream.baseUrl(), properties)) {
+            String serviceUrl = BenchmarkService.url(context);
+            System.out.printf("%n== upstream %s, locations %s, seed %d ==%n", profile, locations, seed);
+            if (!properties.isEmpty()) {
+                System.out.println("service properties " + properties);
+            }
+
+            // Warm up connection pools and JIT on cells the measured workload never asks for
+            LoadGenerator.run(serviceUrl, LoadGenerator.Workload.distinctCells(1_000_000), 50, warmup, Duration.ofSeconds(60));
+            for (int concurrency : concurrencyLevels) {
+                // A fresh workload per level, so every level sees the same request sequence
+                LoadGenerator.Workload workload = LoadGenerator.Workload.parse(locations, seed);
+                UpstreamSimulator.Stats before = upstream.stats();
+                LoadGenerator.Result result = LoadGenerator.run(serviceUrl, workload, concurrency, requests, Duration.ofSeconds(120));
+                UpstreamSimulator.Stats upstreamCalls = upstream.stats().minus(before);
+                System.out.printf(Locale.ROOT, "%s%n  %s  amplification=%.3f upstream/request%n%s",
+                        result, upstreamCalls, (double) upstreamCalls.total() / requests, result.histogram());
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.WeatherApplication.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closed-loop load driver: keeps exactly {@code concurrency} requests outstanding against
+ * {@code /weather/forecast} until {@code requests} have completed. A {@link Workload} picks
+ * the coordinates of each request.
+ */
+class LoadGenerator {
+
+    // Upper bounds of the latency histogram buckets, in milliseconds
+    private static final long[] BUCKETS_MILLIS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 30000};
+
+    /**
+     * @param statuses non-200 responses by status; -1 counts requests that got no response
+     */
+    record Result(int concurrency, int requests, int errors, Duration elapsed, long[] latenciesMicros,
+                  Map<Integer, Integer> statuses) {
+
+        double throughput() {
+            return requests / (elapsed.toNanos() / 1e9);
+        }
+
+        long percentileMicros(double percentile) {
+            int index = (int) Math.ceil(percentile / 100.0 * latenciesMicros.length) - 1;
+            return latenciesMicros[Math.max(0, Math.min(index, latenciesMicros.length - 1))];
+        }
+
+        String histogram() {
+            StringBuilder histogram = new StringBuilder();
+            int from = 0;
+            for (int bucket = 0; bucket <= BUCKETS_MILLIS.length && from < latenciesMicros.length; bucket++) {
+                long bound = bucket < BUCKETS_MILLIS.length ? BUCKETS_MILLIS[bucket] * 1000 : Long.MAX_VALUE;
+                int to = from;
+                while (to < latenciesMicros.length && latenciesMicros[to] <= bound) {
+                    to++;
+                }
+                if (to > from) {
+                    String label = bucket < BUCKETS_MILLIS.length ? "<= " + BUCKETS_MILLIS[bucket] + "ms"
+                            : "> " + BUCKETS_MILLIS[BUCKETS_MILLIS.length - 1] + "ms";
+                    double share = (to - from) * 100.0 / latenciesMicros.length;
+                    histogram.append(String.format(Locale.ROOT, "  %10s %8d %5.1f%% %s%n",
+                            label, to - from, share, "#".repeat((int) Math.ceil(share / 2))));
+                }
+                from = to;
+            }
+            return histogram.toString();
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "concurrency=%-6d requests=%-7d errors=%-6d throughput=%9.1f req/s  p50=%7.1fms  p99=%7.1fms  max=%7.1fms",
+                    concurrency, requests, errors, throughput(),
+                    percentileMicros(50) / 1000.0, percentileMicros(99) / 1000.0, percentileMicros(100) / 1000.0)
+                    + (statuses.isEmpty() ? "" : "  statuses=" + statuses);
+        }
+    }
+
+    /**
+     * Chooses the coordinates of the {@code i}th request. Parsed from {@code distinct}, or
+     * {@code hot:2000} or {@code hot:2000:1.2} for a Zipf-distributed pick among that many
+     * fixed locations (default exponent 1.0).
+     */
+    interface Workload {
+
+        String coordinates(int i);
+
+        // Every request targets a distinct grid cell so caching and coalescing stay out of the picture
+        static Workload distinctCells(int firstIndex) {
+            return i -> {
+                int cell = firstIndex + i;
+                return String.format(Locale.ROOT, "%.4f,%.4f", -60 + (cell / 4000) * 0.05, -170 + (cell % 4000) * 0.05);
+            };
+        }
+
+        // A few locations take most of the traffic, as popular cities do
+        static Workload hotLocations(int locations, double exponent, long seed) {
+            Random random = new Random(seed);
+            String[] coordinates = new String[locations];
+            double[] cumulative = new double[locations];
+            double total = 0;
+            for (int rank = 0; rank < locations; rank++) {
+                // Anywhere in the continental US
+                coordinates[rank] = String.format(Locale.ROOT, "%.4f,%.4f",
+                        25 + random.nextDouble() * 24, -124 + random.nextDouble() * 57);
+                total += 1 / Math.pow(rank + 1, exponent);
+                cumulative[rank] = total;
+            }
+            double sum = total;
+            // Requests are issued from the one driver thread, so the Random needs no locking
+            return i -> {
+                int rank = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+                return coordinates[rank >= 0 ? rank : Math.min(-rank - 1, locations - 1)];
+            };
+        }
+
+        static Workload parse(String spec, long seed) {
+            String[] parts = spec.split(":");
+            return switch (parts[0]) {
+                case "distinct" -> distinctCells(0);
+                case "hot" -> hotLocations(Integer.parseInt(parts[1]),
+                        parts.length > 2 ? Double.parseDouble(parts[2]) : 1.0, seed);
+                default -> throw new IllegalArgumentException("Unknown workload: " + spec);
+            };
+        }
+    }
+
+    private LoadGenerator() {
+    }
+
+    static Result run(String serviceUrl, int concurrency, int requests, Duration timeout) throws InterruptedException {
+        return run(serviceUrl, Workload.distinctCells(0), concurrency, requests, timeout);
+    }
+
+    static Result run(String serviceUrl, Workload workload, int concurrency, int requests, Duration timeout)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(executor)
+                    .connectTimeout(timeout)
+                    .build();
+            Semaphore permits = new Semaphore(concurrency);
+            CountDownLatch done = new CountDownLatch(requests);
+            AtomicInteger errors = new AtomicInteger();
+            Map<Integer, Integer> statuses = new ConcurrentHashMap<>();
+            long[] latencies = new long[requests];
+
+            long start = System.nanoTime();
+            for (int i = 0; i < requests; i++) {
+                permits.acquire();
+                int index = i;
+                URI uri = URI.create(serviceUrl + "/weather/forecast/" + workload.coordinates(i));
+                long sent = System.nanoTime();
+                client.sendAsync(HttpRequest.newBuilder(uri).timeout(timeout).GET().build(), HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, error) -> {
+                            latencies[index] = (System.nanoTime() - sent) / 1000;
+                            if (error != null || response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                statuses.merge(error != null ? -1 : response.statusCode(), 1, Integer::sum);
+                            }
+                            permits.release();
+                            done.countDown();
+                        });
+            }
+            done.await();
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            Arrays.sort(latencies);
+            return new Result(concurrency, requests, errors.get(), elapsed, latencies, new TreeMap<>(statuses));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
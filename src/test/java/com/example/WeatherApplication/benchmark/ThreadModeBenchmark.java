@@ -0,0 +1,67 @@
+package com.example.WeatherApplication.benchmark;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares request throughput of the platform-thread Tomcat pool against virtual threads
+ * while every upstream call is slow. Not a unit test; run it on Java 21 with
+ * <pre>
+ * mvn -Pvirtual-threads test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.WeatherApplication.benchmark.ThreadModeBenchmark \
+ *     -Dexec.args="--modes=platform,virtual --concurrency=1000,10000 --requests=20000 --upstream-latency=500"
+ * </pre>
+ * At 10k connections the client, service and simulator together need roughly 30k file
+ * descriptors, so raise {@code ulimit -n} first.
+ */
+public class ThreadModeBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = BenchmarkService.parseOptions(args);
+        List<String> modes = Arrays.asList(options.getOrDefault("modes", "platform,virtual").split(","));
+        int[] concurrencyLevels = Arrays.stream(options.getOrDefault("concurrency", "1000,10000").split(","))
+                .mapToInt(Integer::parseInt).toArray();
+        int requests = Integer.parseInt(options.getOrDefault("requests", "20000"));
+        Duration upstreamLatency = Duration.ofMillis(Long.parseLong(options.getOrDefault("upstream-latency", "500")));
+
+        if (modes.contains("virtual") && Runtime.version().feature() < 21) {
+            System.err.println("Virtual threads need Java 21; running on " + Runtime.version() + " the virtual mode falls back to platform threads");
+        }
+
+        try (UpstreamSimulator upstream = UpstreamSimulator.start(upstreamLatency)) {
+            for (String mode : modes) {
+                try (ConfigurableApplicationContext context = startService(mode, upstream.baseUrl())) {
+                    String serviceUrl = BenchmarkService.url(context);
+                    System.out.printf("%n== %s threads, upstream latency %dms per hop ==%n", mode, upstreamLatency.toMillis());
+
+                    // Warm up connection pools and JIT before measuring
+                    LoadGenerator.run(serviceUrl, 50, 500, Duration.ofSeconds(60));
+                    for (int concurrency : concurrencyLevels) {
+                        long upstreamBefore = upstream.upstreamRequests();
+                        LoadGenerator.Result result = LoadGenerator.run(serviceUrl, concurrency, Math.max(requests, concurrency), Duration.ofSeconds(120));
+                        System.out.println(result + "  upstream=" + (upstream.upstreamRequests() - upstreamBefore));
+                    }
+                }
+            }
+        }
+    }
+
+    static ConfigurableApplicationContext startService(String mode, String upstreamUrl) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.threads.virtual.enabled", "virtual".equals(mode));
+        // Isolate the thread model: no caching, and neither pool nor Tomcat may be the limit
+        properties.put("spring.cache.type", "none");
+        properties.put("weather.cache.grid.persistent", false);
+        properties.put("weather.http.max-connections", 20000);
+        properties.put("weather.http.max-connections-per-route", 20000);
+        properties.put("weather.http.read-timeout", "60s");
+        properties.put("server.tomcat.max-connections", 20000);
+        properties.put("server.tomcat.accept-count", 10000);
+        return BenchmarkService.start(upstreamUrl, properties);
+    }
+}
@@ -0,0 +1,266 @@
+package com.example.WeatherApplication.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for api.weather.gov serving the recorded fixtures. Responses are delayed
+ * on a scheduler rather than by sleeping, so thousands of slow responses can be pending
+ * without the simulator itself running out of threads.
+ * <p>
+ * A {@link Profile} shapes the responses: latency drawn from a {@link Latency} distribution,
+ * a share of 503s, periodic bursts during which every request gets a 429, and the
+ * {@code Cache-Control} the forecast is served with. Forecasts carry an ETag and conditional
+ * requests that match it get a 304.
+ */
+class UpstreamSimulator implements AutoCloseable {
+
+    static {
+        // The JDK server closes keep-alive connections beyond 200 idle ones by default, which the
+        // service's pooled client then sees as NoHttpResponseException under high concurrency
+        System.setProperty("sun.net.httpserver.maxIdleConnections", "20000");
+    }
+
+    private static final String RECORDED_FORECAST_URL = "https://api.weather.gov/gridpoints/MTR/85,105/forecast";
+    private static final String ETAG = "\"fixture-forecast\"";
+
+    /**
+     * @param errorRate      share of requests answered with a 503
+     * @param throttlePeriod every period ends with {@code throttleLength} of 429s; zero disables
+     * @param cacheControl   sent with forecasts; {@code no-store} keeps the service from caching
+     * @param seed           for the latency and error draws, so runs can be repeated
+     */
+    record Profile(Latency latency, double errorRate, Duration throttlePeriod, Duration throttleLength,
+                   String cacheControl, long seed) {
+
+        static Profile fixedLatency(Duration latency) {
+            return new Profile(Latency.fixed(latency.toMillis()), 0, Duration.ZERO, Duration.ZERO, "no-store", 42);
+        }
+
+        @Override
+        public String toString() {
+            String throttle = throttlePeriod.isZero() ? "none"
+                    : throttleLength.toMillis() + "ms of 429s every " + throttlePeriod.toMillis() + "ms";
+            return String.format(Locale.ROOT, "latency=%s errors=%.1f%% throttle=%s cache-control=%s",
+                    latency, errorRate * 100, throttle, cacheControl);
+        }
+    }
+
+    /**
+     * Per-response latency. Parsed from {@code fixed:500} (or just {@code 500}),
+     * {@code uniform:50-500}, or {@code lognormal:80,400} (median and p99), all in milliseconds.
+     */
+    interface Latency {
+
+        long nextMillis(Random random);
+
+        static Latency fixed(long millis) {
+            return describe("fixed " + millis + "ms", random -> millis);
+        }
+
+        static Latency uniform(long minMillis, long maxMillis) {
+            return describe("uniform " + minMillis + "-" + maxMillis + "ms",
+                    random -> minMillis + (long) (random.nextDouble() * (maxMillis - minMillis + 1)));
+        }
+
+        static Latency logNormal(long medianMillis, long p99Millis) {
+            // 2.326 standard deviations above the mean is the 99th percentile
+            double sigma = Math.log((double) p99Millis / medianMillis) / 2.326;
+            return describe("lognormal median " + medianMillis + "ms p99 " + p99Millis + "ms",
+                    random -> Math.round(medianMillis * Math.exp(sigma * random.nextGaussian())));
+        }
+
+        static Latency parse(String spec) {
+            String[] parts = spec.split(":", 2);
+            if (parts.length == 1) {
+                return fixed(Long.parseLong(parts[0]));
+            }
+            return switch (parts[0]) {
+                case "fixed" -> fixed(Long.parseLong(parts[1]));
+                case "uniform" -> uniform(Long.parseLong(parts[1].split("-")[0]), Long.parseLong(parts[1].split("-")[1]));
+                case "lognormal" -> logNormal(Long.parseLong(parts[1].split(",")[0]), Long.parseLong(parts[1].split(",")[1]));
+                default -> throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+            };
+        }
+
+        private static Latency describe(String description, Latency latency) {
+            return new Latency() {
+                @Override
+                public long nextMillis(Random random) {
+                    return latency.nextMillis(random);
+                }
+
+                @Override
+                public String toString() {
+                    return description;
+                }
+            };
+        }
+    }
+
+    /** Requests received, by what they were answered with. */
+    record Stats(long points, long forecasts, long notModified, long throttled, long failed) {
+
+        long total() {
+            return points + forecasts + notModified + throttled + failed;
+        }
+
+        Stats minus(Stats earlier) {
+            return new Stats(points - earlier.points, forecasts - earlier.forecasts,
+                    notModified - earlier.notModified, throttled - earlier.throttled, failed - earlier.failed);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "upstream=%d (points=%d forecast=%d 304=%d 429=%d 503=%d)",
+                    total(), points, forecasts, notModified, throttled, failed);
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService handlerExecutor = Executors.newFixedThreadPool(4);
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+    private final Profile profile;
+    private final Random random;
+    private final long startNanos = System.nanoTime();
+    private final String pointsBodyBefore;
+    private final String pointsBodyAfter;
+    private final byte[] forecastBody;
+    private final AtomicLong pointsRequests = new AtomicLong();
+    private final AtomicLong forecastRequests = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private UpstreamSimulator(Profile profile) throws IOException {
+        this.profile = profile;
+        this.random = new Random(profile.seed());
+        String pointsBody = new String(fixture("points.json"), StandardCharsets.UTF_8);
+        int forecastUrl = pointsBody.indexOf(RECORDED_FORECAST_URL);
+        this.pointsBodyBefore = pointsBody.substring(0, forecastUrl);
+        this.pointsBodyAfter = pointsBody.substring(forecastUrl + RECORDED_FORECAST_URL.length());
+        this.forecastBody = fixture("forecast.json");
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        this.server.createContext("/points/", this::handlePoints);
+        this.server.createContext("/gridpoints/", this::handleForecast);
+        this.server.setExecutor(handlerExecutor);
+        this.server.start();
+    }
+
+    static UpstreamSimulator start(Duration latency) throws IOException {
+        return start(Profile.fixedLatency(latency));
+    }
+
+    static UpstreamSimulator start(Profile profile) throws IOException {
+        return new UpstreamSimulator(profile);
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    long upstreamRequests() {
+        return stats().total();
+    }
+
+    Stats stats() {
+        return new Stats(pointsRequests.get(), forecastRequests.get(), notModified.get(), throttled.get(), failed.get());
+    }
+
+    private void handlePoints(HttpExchange exchange) {
+        if (rejected(exchange)) {
+            return;
+        }
+        pointsRequests.incrementAndGet();
+        // Each coordinate gets its own gridpoint so nothing collapses onto a shared forecast
+        String coordinates = exchange.getRequestURI().getPath().substring("/points/".length());
+        String body = pointsBodyBefore + baseUrl() + "/gridpoints/TST/" + coordinates + "/forecast" + pointsBodyAfter;
+        respondLater(exchange, 200, body.getBytes(StandardCharsets.UTF_8), null);
+    }
+
+    private void handleForecast(HttpExchange exchange) {
+        if (rejected(exchange)) {
+            return;
+        }
+        if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            notModified.incrementAndGet();
+            respondLater(exchange, 304, null, profile.cacheControl());
+            return;
+        }
+        forecastRequests.incrementAndGet();
+        respondLater(exchange, 200, forecastBody, profile.cacheControl());
+    }
+
+    // Throttled and failed requests are answered just as late as successful ones
+    private boolean rejected(HttpExchange exchange) {
+        if (throttling()) {
+            throttled.incrementAndGet();
+            exchange.getResponseHeaders().set("Retry-After", "1");
+            respondLater(exchange, 429, "{\"status\":429,\"title\":\"Too Many Requests\"}".getBytes(StandardCharsets.UTF_8), null);
+            return true;
+        }
+        if (profile.errorRate() > 0 && random.nextDouble() < profile.errorRate()) {
+            failed.incrementAndGet();
+            respondLater(exchange, 503, "{\"status\":503,\"title\":\"Service Unavailable\"}".getBytes(StandardCharsets.UTF_8), null);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean throttling() {
+        long period = profile.throttlePeriod().toNanos();
+        if (period <= 0) {
+            return false;
+        }
+        // The burst closes each period, so a run starts unthrottled
+        return (System.nanoTime() - startNanos) % period >= period - profile.throttleLength().toNanos();
+    }
+
+    private void respondLater(HttpExchange exchange, int status, byte[] body, String cacheControl) {
+        scheduler.schedule(() -> {
+            try (exchange; OutputStream out = exchange.getResponseBody()) {
+                exchange.getResponseHeaders().set("Content-Type", "application/geo+json");
+                if (cacheControl != null) {
+                    exchange.getResponseHeaders().set("Cache-Control", cacheControl);
+                    exchange.getResponseHeaders().set("ETag", ETAG);
+                }
+                exchange.sendResponseHeaders(status, body == null ? -1 : body.length);
+                if (body != null) {
+                    out.write(body);
+                }
+            } catch (IOException e) {
+                // Client went away; nothing to do
+            }
+        }, Math.max(0, profile.latency().nextMillis(random)), TimeUnit.MILLISECONDS);
+    }
+
+    private static byte[] fixture(String name) {
+        try (InputStream in = UpstreamSimulator.class.getResourceAsStream("/fixtures/" + name)) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        scheduler.shutdownNow();
+        handlerExecutor.shutdownNow();
+    }
+}
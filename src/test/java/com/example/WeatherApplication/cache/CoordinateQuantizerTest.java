@@ -0,0 +1,38 @@
+package com.example.WeatherApplication.cache;
+
+import com.example.WeatherApplication.models.GridCell;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoordinateQuantizerTest {
+
+    @Test
+    void testJitteryFixesShareCell() {
+        CoordinateQuantizer quantizer = new CoordinateQuantizer(0.02);
+
+        assertEquals(quantizer.quantize(37.77490, -122.41940), quantizer.quantize(37.77491, -122.41941));
+    }
+
+    @Test
+    void testDistantCoordinatesDoNotShareCell() {
+        CoordinateQuantizer quantizer = new CoordinateQuantizer(0.02);
+
+        assertNotEquals(quantizer.quantize(37.7749, -122.4194), quantizer.quantize(37.8049, -122.4194));
+    }
+
+    @Test
+    void testCellCenterIsInsideCell() {
+        CoordinateQuantizer quantizer = new CoordinateQuantizer(0.02);
+        GridCell cell = quantizer.quantize(-33.8688, 151.2093);
+
+        assertEquals(cell, quantizer.quantize(cell.centerLatitude(), cell.centerLongitude()));
+    }
+
+    @Test
+    void testResolutionNeverFinerThanPointsPrecision() {
+        CoordinateQuantizer quantizer = new CoordinateQuantizer(0);
+
+        assertEquals(CoordinateQuantizer.MIN_RESOLUTION, quantizer.getResolution());
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.WeatherApplication.cache;
+
+import com.example.WeatherApplication.models.CellForecast;
+import com.example.WeatherApplication.models.DailyForecast;
+import com.example.WeatherApplication.models.ForecastDay;
+import com.example.WeatherApplication.models.GridCell;
+import com.example.WeatherApplication.repositories.ForecastDayRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ForecastStoreTest {
+
+    private static final GridCell CELL = new GridCell(1, 1, 0.02);
+    private static final GridCell OTHER = new GridCell(2, 2, 0.02);
+    private static final LocalDate MONDAY = LocalDate.of(2024, 6, 10);
+    private static final LocalDate TUESDAY = MONDAY.plusDays(1);
+    private static final DailyForecast SUNNY = new DailyForecast(55, 68, 5, 15, "Day: Sunny", 10);
+    private static final DailyForecast RAINY = new DailyForecast(50, 60, 10, 20, "Day: Rain", 90);
+
+    private final ForecastDayRepository repository = mock(ForecastDayRepository.class);
+    private final ForecastCache forecastCache = new ForecastCache(100, Duration.ofHours(1));
+    private ForecastStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ForecastStore(repository, forecastCache, new CoordinateQuantizer(0.02));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlush_WritesLatestEntryPerCellInBatches() {
+        ReflectionTestUtils.setField(store, "batchSize", 2);
+        store.enqueue(CELL, entry(Map.of(MONDAY, RAINY)));
+        store.enqueue(CELL, entry(Map.of(MONDAY, SUNNY, TUESDAY, SUNNY)));
+        store.enqueue(OTHER, entry(Map.of(MONDAY, RAINY)));
+
+        store.flush();
+
+        ArgumentCaptor<List<ForecastDay>> batches = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(2)).upsertAll(batches.capture());
+        List<ForecastDay> rows = new ArrayList<>();
+        batches.getAllValues().forEach(batch -> batch.forEach(rows::add));
+        assertEquals(3, rows.size());
+        assertTrue(rows.stream().filter(row -> row.getCellKey().equals(ForecastDay.key(CELL)))
+                .allMatch(row -> row.toDailyForecast().equals(SUNNY)));
+        assertEquals(0, store.getPendingCount());
+        verify(repository).deleteExpiredBefore(any(Instant.class));
+    }
+
+    @Test
+    void testFlush_FailedBatchIsDropped() {
+        doThrow(new IllegalStateException("connection refused")).when(repository).upsertAll(any());
+        store.enqueue(CELL, entry(Map.of(MONDAY, SUNNY)));
+
+        assertDoesNotThrow(store::flush);
+        assertEquals(0, store.getPendingCount());
+    }
+
+    @Test
+    void testEnqueue_DropsNewCellsWhenQueueIsFull() {
+        ReflectionTestUtils.setField(store, "maxPending", 1);
+        store.enqueue(CELL, entry(Map.of(MONDAY, SUNNY)));
+        store.enqueue(OTHER, entry(Map.of(MONDAY, SUNNY)));
+        // Replacing a queued cell still works
+        store.enqueue(CELL, entry(Map.of(MONDAY, RAINY)));
+
+        assertEquals(1, store.getPendingCount());
+        assertEquals(1, store.getDroppedCount());
+    }
+
+    @Test
+    void testRehydrate_RestoresNewestFetchOfEachCell() {
+        Instant now = Instant.now();
+        GridCell otherResolution = new GridCell(1, 1, 0.05);
+        when(repository.findByExpiresAtAfterOrderByFetchedAtDesc(any(Instant.class), any(Pageable.class))).thenReturn(List.of(
+                row(CELL, TUESDAY, SUNNY, now.minusSeconds(60)),
+                row(OTHER, MONDAY, RAINY, now.minusSeconds(90)),
+                row(otherResolution, MONDAY, RAINY, now.minusSeconds(100)),
+                // An older fetch of CELL that still covered Monday
+                row(CELL, MONDAY, RAINY, now.minusSeconds(600))));
+
+        store.rehydrate();
+
+        CachedForecast restored = forecastCache.get(CELL);
+        assertEquals(SUNNY, restored.forecast().forDate(TUESDAY));
+        assertNull(restored.forecast().forDate(MONDAY));
+        assertEquals(now.minusSeconds(60), restored.fetchedAt());
+        assertEquals("\"v1\"", restored.etag());
+        assertNotNull(forecastCache.get(OTHER));
+        assertNull(forecastCache.get(otherResolution));
+    }
+
+    @Test
+    void testRehydrate_KeepsEntriesAlreadyCachedAndSkipsTruncatedCell() {
+        ReflectionTestUtils.setField(store, "rehydrateLimit", 2);
+        Instant now = Instant.now();
+        forecastCache.put(CELL, new CellForecast(Map.of(MONDAY, RAINY)), Duration.ofMinutes(5));
+        when(repository.findByExpiresAtAfterOrderByFetchedAtDesc(any(Instant.class), any(Pageable.class))).thenReturn(List.of(
+                row(CELL, MONDAY, SUNNY, now.minusSeconds(60)),
+                row(OTHER, MONDAY, SUNNY, now.minusSeconds(90))));
+
+        store.rehydrate();
+
+        assertEquals(RAINY, forecastCache.get(CELL).forecast().forDate(MONDAY));
+        // OTHER's remaining dates may lie beyond the limit
+        assertNull(forecastCache.get(OTHER));
+    }
+
+    private static CachedForecast entry(Map<LocalDate, DailyForecast> days) {
+        Instant now = Instant.now();
+        return new CachedForecast(new CellForecast(days), now, now.plusSeconds(600), null, null);
+    }
+
+    private static ForecastDay row(GridCell cell, LocalDate date, DailyForecast day, Instant fetchedAt) {
+        return new ForecastDay(cell, date, day, fetchedAt, fetchedAt.plusSeconds(600), "\"v1\"", null);
+    }
+}
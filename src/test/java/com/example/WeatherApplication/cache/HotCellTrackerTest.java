@@ -0,0 +1,54 @@
+package com.example.WeatherApplication.cache;
+
+import com.example.WeatherApplication.models.GridCell;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotCellTrackerTest {
+
+    private static final GridCell HOT = new GridCell(1, 1, 0.02);
+    private static final GridCell WARM = new GridCell(2, 2, 0.02);
+    private static final GridCell COLD = new GridCell(3, 3, 0.02);
+
+    @Test
+    void testHottest_OrderedByFrequency() {
+        HotCellTracker tracker = new HotCellTracker(100);
+        record(tracker, COLD, 1);
+        record(tracker, HOT, 5);
+        record(tracker, WARM, 3);
+
+        assertEquals(List.of(HOT, WARM), tracker.hottest(2));
+    }
+
+    @Test
+    void testDecay_HalvesCountsAndDropsColdCells() {
+        HotCellTracker tracker = new HotCellTracker(100);
+        record(tracker, HOT, 4);
+        record(tracker, COLD, 1);
+
+        tracker.decay();
+
+        assertEquals(List.of(HOT), tracker.hottest(10));
+        tracker.decay();
+        tracker.decay();
+        assertEquals(0, tracker.getTrackedCount());
+    }
+
+    @Test
+    void testRecord_IgnoresNewCellsWhenFull() {
+        HotCellTracker tracker = new HotCellTracker(1);
+        record(tracker, HOT, 1);
+        record(tracker, WARM, 3);
+
+        assertEquals(List.of(HOT), tracker.hottest(10));
+    }
+
+    private static void record(HotCellTracker tracker, GridCell cell, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.record(cell);
+        }
+    }
+}
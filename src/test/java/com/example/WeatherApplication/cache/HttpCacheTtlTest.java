@@ -0,0 +1,60 @@
+package com.example.WeatherApplication.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpCacheTtlTest {
+
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+    private static final Duration MAX_TTL = Duration.ofHours(1);
+
+    @Test
+    void testMaxAge() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("public, max-age=300");
+
+        assertEquals(Duration.ofSeconds(300), HttpCacheTtl.fromHeaders(headers, DEFAULT_TTL, MAX_TTL));
+    }
+
+    @Test
+    void testSharedMaxAgeWins() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("max-age=300, s-maxage=120");
+
+        assertEquals(Duration.ofSeconds(120), HttpCacheTtl.fromHeaders(headers, DEFAULT_TTL, MAX_TTL));
+    }
+
+    @Test
+    void testNoStore() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("no-store");
+
+        assertEquals(Duration.ZERO, HttpCacheTtl.fromHeaders(headers, DEFAULT_TTL, MAX_TTL));
+    }
+
+    @Test
+    void testExpiresRelativeToDate() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setDate(1_700_000_000_000L);
+        headers.setExpires(1_700_000_000_000L + 90_000L);
+
+        assertEquals(Duration.ofSeconds(90), HttpCacheTtl.fromHeaders(headers, DEFAULT_TTL, MAX_TTL));
+    }
+
+    @Test
+    void testClampedToMax() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("max-age=86400");
+
+        assertEquals(MAX_TTL, HttpCacheTtl.fromHeaders(headers, DEFAULT_TTL, MAX_TTL));
+    }
+
+    @Test
+    void testDefaultWhenNoHeaders() {
+        assertEquals(DEFAULT_TTL, HttpCacheTtl.fromHeaders(new HttpHeaders(), DEFAULT_TTL, MAX_TTL));
+    }
+}
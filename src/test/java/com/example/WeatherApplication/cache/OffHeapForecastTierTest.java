@@ -0,0 +1,139 @@
+package com.example.WeatherApplication.cache;
+
+import com.example.WeatherApplication.models.CellForecast;
+import com.example.WeatherApplication.models.DailyForecast;
+import com.example.WeatherApplication.models.GridCell;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapForecastTierTest {
+
+    private static final GridCell CELL = new GridCell(2035, -3700, 0.02);
+    private static final LocalDate MONDAY = LocalDate.of(2024, 6, 10);
+    private static final DailyForecast SUNNY = new DailyForecast(55, 68, 5, 15, "Day: Sunny – Night: Clear", 10);
+    private static final DailyForecast RAINY = new DailyForecast(-5, 60, 10, 20, "Day: Rain – Night: Rain", 90);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testPutAndGet_RoundTripsEveryField() throws IOException {
+        OffHeapForecastTier tier = open(64);
+        CachedForecast entry = entry(Map.of(MONDAY, SUNNY, MONDAY.plusDays(1), RAINY), "\"v1\"",
+                "Mon, 10 Jun 2024 12:00:00 GMT");
+
+        tier.put(CELL, entry);
+
+        assertEquals(entry, tier.get(CELL));
+        assertNull(tier.get(new GridCell(1, 1, 0.02)));
+        assertNull(tier.get(new GridCell(2035, -3700, 0.05)));
+        tier.close();
+    }
+
+    @Test
+    void testGet_SurvivesReopening() throws IOException {
+        OffHeapForecastTier tier = open(64);
+        CachedForecast entry = entry(Map.of(MONDAY, SUNNY), null, null);
+        tier.put(CELL, entry);
+        tier.close();
+
+        OffHeapForecastTier reopened = open(64);
+        assertEquals(entry, reopened.get(CELL));
+        reopened.close();
+
+        // A different layout starts empty instead of misreading the file
+        OffHeapForecastTier resized = open(128);
+        assertNull(resized.get(CELL));
+        resized.close();
+    }
+
+    @Test
+    void testPut_OverwritesEntryExpiringFirstWhenFull() throws IOException {
+        OffHeapForecastTier tier = open(OffHeapForecastTier.MAX_PROBES);
+        for (int i = 0; i < OffHeapForecastTier.MAX_PROBES; i++) {
+            tier.put(new GridCell(i, i, 0.02), entry(Map.of(MONDAY, SUNNY), Duration.ofMinutes(10 + i)));
+        }
+        tier.put(CELL, entry(Map.of(MONDAY, RAINY), Duration.ofMinutes(30)));
+
+        assertEquals(RAINY, tier.get(CELL).forecast().forDate(MONDAY));
+        assertNull(tier.get(new GridCell(0, 0, 0.02)));
+        assertNotNull(tier.get(new GridCell(1, 1, 0.02)));
+        tier.close();
+    }
+
+    @Test
+    void testPut_SkipsEntryWhoseSummaryDoesNotFitDictionary() throws IOException {
+        OffHeapForecastTier tier = new OffHeapForecastTier(dir.resolve("tier.dat"), 64, 1, new CoordinateQuantizer(0.02));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        tier.bindTo(registry);
+        GridCell other = new GridCell(1, 1, 0.02);
+
+        tier.put(CELL, entry(Map.of(MONDAY, SUNNY), null, null));
+        tier.put(other, entry(Map.of(MONDAY, SUNNY, MONDAY.plusDays(1), RAINY), null, null));
+
+        assertEquals(SUNNY, tier.get(CELL).forecast().forDate(MONDAY));
+        assertNull(tier.get(other));
+        assertEquals(1, registry.get("weather.cache.offheap.skipped").functionCounter().count());
+        tier.close();
+    }
+
+    @Test
+    void testSecondInstanceOnLockedFileStaysDisabled() throws IOException {
+        OffHeapForecastTier owner = open(64);
+        CachedForecast entry = entry(Map.of(MONDAY, SUNNY), null, null);
+        owner.put(CELL, entry);
+
+        OffHeapForecastTier second = open(128);
+        assertNull(second.get(CELL));
+        second.put(new GridCell(1, 1, 0.02), entry);
+        second.close();
+
+        // The owner's file was neither reset nor written by the second instance
+        assertEquals(entry, owner.get(CELL));
+        assertNull(owner.get(new GridCell(1, 1, 0.02)));
+        owner.close();
+
+        OffHeapForecastTier reopened = open(64);
+        assertEquals(entry, reopened.get(CELL));
+        reopened.close();
+    }
+
+    @Test
+    void testForecastCache_PromotesOffHeapEntriesOnMiss() throws IOException {
+        OffHeapForecastTier tier = open(64);
+        new ForecastCache(10, Duration.ZERO, tier).put(CELL, new CellForecast(Map.of(MONDAY, SUNNY)), Duration.ofMinutes(5));
+
+        // A fresh on-heap cache, as after a restart
+        ForecastCache cache = new ForecastCache(10, Duration.ZERO, tier);
+        CachedForecast promoted = cache.get(CELL);
+
+        assertEquals(SUNNY, promoted.forecast().forDate(MONDAY));
+        assertSame(promoted, cache.get(CELL));
+        tier.close();
+    }
+
+    private OffHeapForecastTier open(int slots) {
+        return new OffHeapForecastTier(dir.resolve("tier.dat"), slots, 1000, new CoordinateQuantizer(0.02));
+    }
+
+    private static CachedForecast entry(Map<LocalDate, DailyForecast> days, Duration ttl) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        return new CachedForecast(new CellForecast(days), now, now.plus(ttl), null, null);
+    }
+
+    private static CachedForecast entry(Map<LocalDate, DailyForecast> days, String etag, String lastModified) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        return new CachedForecast(new CellForecast(days), now, now.plusSeconds(600), etag, lastModified);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.WeatherApplication.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescerTest {
+
+    private static final int CALLERS = 8;
+
+    @Test
+    void testConcurrentCallersShareOneLoad() throws Exception {
+        RequestCoalescer<String, String> coalescer = new RequestCoalescer<>("test");
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> coalescer.execute("cell", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "forecast";
+                })));
+            }
+            waitUntil(() -> coalescer.getCoalescedCount() == CALLERS - 1);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("forecast", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(1, coalescer.getLeaderCount());
+        assertEquals(0, coalescer.getInFlightCount());
+    }
+
+    @Test
+    void testWaitersSeeLeaderFailure() throws Exception {
+        RequestCoalescer<String, String> coalescer = new RequestCoalescer<>("test");
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("upstream 503");
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = executor.submit(() -> coalescer.execute("cell", () -> {
+                await(release);
+                throw failure;
+            }));
+            waitUntil(() -> coalescer.getInFlightCount() == 1);
+            Future<String> waiter = executor.submit(() -> coalescer.execute("cell", () -> "unused"));
+            waitUntil(() -> coalescer.getCoalescedCount() == 1);
+            release.countDown();
+
+            Exception leaderError = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+            Exception waiterError = assertThrows(Exception.class, () -> waiter.get(5, TimeUnit.SECONDS));
+            assertSame(failure, leaderError.getCause());
+            assertSame(failure, waiterError.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testSequentialCallsAreNotCoalesced() {
+        RequestCoalescer<String, Integer> coalescer = new RequestCoalescer<>("test");
+        AtomicInteger loads = new AtomicInteger();
+
+        coalescer.execute("cell", loads::incrementAndGet);
+        coalescer.execute("cell", loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, coalescer.getCoalescedCount());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -1,14 +1,20 @@
 package com.example.WeatherApplication.config;
 
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import javax.net.ssl.SSLContext;
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class AppConfigTest {
 
-    private final AppConfig appConfig = new AppConfig();
+    private final AppConfig appConfig = new AppConfig(new WeatherHttpProperties());
 
     @Test
     void testRestTemplateCreation() {
@@ -21,4 +27,42 @@ class AppConfigTest {
         // Verify the RestTemplate is not null
         assertNotNull(restTemplate);
     }
+
+    @Test
+    void testDefaultClientIsPooled() {
+        RestTemplate restTemplate = appConfig.restTemplate(new RestTemplateBuilder());
+
+        assertInstanceOf(HttpComponentsClientHttpRequestFactory.class, restTemplate.getRequestFactory());
+    }
+
+    @Test
+    void testJdkClientSelectable() {
+        WeatherHttpProperties properties = new WeatherHttpProperties();
+        properties.setClient(WeatherHttpProperties.ClientType.JDK);
+
+        RestTemplate restTemplate = new AppConfig(properties).restTemplate(new RestTemplateBuilder());
+
+        assertInstanceOf(JdkClientHttpRequestFactory.class, restTemplate.getRequestFactory());
+    }
+
+    @Test
+    void testHttpClientCreation() throws Exception {
+        try (CloseableHttpClient httpClient = appConfig.weatherHttpClient()) {
+            assertNotNull(httpClient);
+        }
+    }
+
+    @Test
+    void testTlsSessionSettingsStayOnTheClientsOwnContext() throws Exception {
+        WeatherHttpProperties properties = new WeatherHttpProperties();
+        properties.setTlsSessionCacheSize(7);
+        properties.setTlsSessionTimeout(Duration.ofMinutes(3));
+
+        SSLContext sslContext = new AppConfig(properties).sslContext();
+
+        assertEquals(7, sslContext.getClientSessionContext().getSessionCacheSize());
+        assertEquals(180, sslContext.getClientSessionContext().getSessionTimeout());
+        assertNotSame(SSLContext.getDefault(), sslContext);
+        assertNotEquals(7, SSLContext.getDefault().getClientSessionContext().getSessionCacheSize());
+    }
 }
@@ -0,0 +1,76 @@
+package com.example.WeatherApplication.controllers;
+
+import com.example.WeatherApplication.models.ForecastHistory;
+import com.example.WeatherApplication.models.ForecastSnapshot;
+import com.example.WeatherApplication.models.Temperature;
+import com.example.WeatherApplication.models.WeatherForecast;
+import com.example.WeatherApplication.models.Wind;
+import com.example.WeatherApplication.services.ForecastHistoryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ForecastHistoryController.class)
+public class ForecastHistoryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ForecastHistoryService forecastHistoryService;
+
+    @Test
+    public void testGetHistory_Success() throws Exception {
+        LocalDate from = LocalDate.of(2024, 6, 1);
+        LocalDate to = LocalDate.of(2024, 8, 31);
+        WeatherForecast forecast = new WeatherForecast(40.7128, -74.006, LocalDate.of(2024, 6, 10),
+                "Day: Sunny", new Temperature(68, 55), new Wind(15, 5, "NW"), 10);
+        when(forecastHistoryService.getHistory(40.7128, -74.006, from, to, false)).thenReturn(new ForecastHistory(
+                40.7128, -74.006, from, to, List.of(new ForecastSnapshot(Instant.parse("2024-06-09T12:00:00Z"), forecast))));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/weather/history/40.7128,-74.006")
+                        .param("from", "2024-06-01")
+                        .param("to", "2024-08-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.from", is("2024-06-01")))
+                .andExpect(jsonPath("$.snapshots[0].recordedAt", is("2024-06-09T12:00:00Z")))
+                .andExpect(jsonPath("$.snapshots[0].forecast.temperature.high", is(68.0)));
+    }
+
+    @Test
+    public void testGetHistory_InvalidRange() throws Exception {
+        when(forecastHistoryService.getHistory(anyDouble(), anyDouble(), any(), any(), anyBoolean()))
+                .thenThrow(new IllegalArgumentException("The start date must not be after the end date."));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/weather/history/40.7128,-74.006")
+                        .param("from", "2024-08-31")
+                        .param("to", "2024-06-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testGetHistory_InvalidLatitude() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/weather/history/91,-74.006")
+                        .param("from", "2024-06-01")
+                        .param("to", "2024-08-31"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(forecastHistoryService);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.WeatherApplication.controllers;
+
+import com.example.WeatherApplication.models.Temperature;
+import com.example.WeatherApplication.models.WeatherForecast;
+import com.example.WeatherApplication.models.Wind;
+import com.example.WeatherApplication.services.ReactiveWeatherService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReactiveWeatherControllerTest {
+
+    private final double LAT = 37.7749;
+    private final double LON = -122.4194;
+    private final LocalDate TODAY = LocalDate.now();
+
+    private ReactiveWeatherService weatherService;
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        weatherService = mock(ReactiveWeatherService.class);
+        webTestClient = WebTestClient.bindToController(new ReactiveWeatherController(weatherService)).build();
+    }
+
+    @Test
+    void testGetForecast_DefaultParameters() {
+        WeatherForecast mockForecast = new WeatherForecast(LAT, LON, TODAY, "Sunny",
+                new Temperature(75, 65), new Wind(10, 5, "NW"), 20);
+        when(weatherService.getForecast(eq(LAT), eq(LON), any(), eq(false))).thenReturn(Mono.just(mockForecast));
+
+        webTestClient.get()
+                .uri("/weather/forecast/{lat},{lon}", LAT, LON)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.latitude").isEqualTo(LAT)
+                .jsonPath("$.forecast").isEqualTo("Sunny")
+                .jsonPath("$.temperature.high").isEqualTo(75.0);
+    }
+
+    @Test
+    void testGetForecast_InvalidLatitude() {
+        webTestClient.get()
+                .uri("/weather/forecast/{lat},{lon}", 100.0, LON)
+                .exchange()
+                .expectStatus().is5xxServerError()
+                .expectBody(String.class).value(containsString("Latitude must be between -90 and 90 degrees"));
+    }
+
+    @Test
+    void testGetForecast_ServiceError() {
+        when(weatherService.getForecast(eq(LAT), eq(LON), any(), eq(false)))
+                .thenReturn(Mono.error(new RuntimeException("Error fetching weather data")));
+
+        webTestClient.get()
+                .uri("/weather/forecast/{lat},{lon}", LAT, LON)
+                .exchange()
+                .expectStatus().is5xxServerError();
+    }
+}
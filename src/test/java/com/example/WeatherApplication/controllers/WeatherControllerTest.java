@@ -1,8 +1,13 @@
 package com.example.WeatherApplication.controllers;
 
+import com.example.WeatherApplication.models.BatchForecastResult;
+import com.example.WeatherApplication.models.Coordinate;
+import com.example.WeatherApplication.models.ForecastResult;
 import com.example.WeatherApplication.models.Temperature;
 import com.example.WeatherApplication.models.WeatherForecast;
 import com.example.WeatherApplication.models.Wind;
+import com.example.WeatherApplication.resilience.UpstreamRejectedException;
+import com.example.WeatherApplication.services.BatchForecastService;
 import com.example.WeatherApplication.services.WeatherService;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -14,10 +19,14 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
@@ -27,6 +36,7 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -39,6 +49,9 @@ public class WeatherControllerTest {
     @MockBean
     private WeatherService weatherService;
 
+    @MockBean
+    private BatchForecastService batchForecastService;
+
     private final double LAT = 37.7749;
     private final double LON = -122.4194;
     private final LocalDate TODAY = LocalDate.now();
@@ -57,8 +70,8 @@ public class WeatherControllerTest {
         );
 
         // Mock service response
-        when(weatherService.getForecast(eq(LAT), eq(LON), any(), eq(false)))
-                .thenReturn(mockForecast);
+        when(weatherService.getForecastResult(eq(LAT), eq(LON), any(), eq(false)))
+                .thenReturn(ForecastResult.fresh(mockForecast));
 
         // Perform request and validate
         mockMvc.perform(MockMvcRequestBuilders
@@ -70,7 +83,7 @@ public class WeatherControllerTest {
                 .andExpect(jsonPath("$.forecast", is("Sunny")));
 
         // Verify service was called with correct parameters
-        verify(weatherService).getForecast(eq(LAT), eq(LON), any(), eq(false));
+        verify(weatherService).getForecastResult(eq(LAT), eq(LON), any(), eq(false));
     }
 
     @Test
@@ -91,8 +104,8 @@ public class WeatherControllerTest {
         );
 
         // Mock service response
-        when(weatherService.getForecast(eq(LAT), eq(LON), eq(specificDate), eq(false)))
-                .thenReturn(mockForecast);
+        when(weatherService.getForecastResult(eq(LAT), eq(LON), eq(specificDate), eq(false)))
+                .thenReturn(ForecastResult.fresh(mockForecast));
 
         // Perform request and validate
         mockMvc.perform(MockMvcRequestBuilders
@@ -104,7 +117,7 @@ public class WeatherControllerTest {
                 .andExpect(jsonPath("$.forecast", is("Partly Cloudy")));
 
         // Verify service was called with correct parameters
-        verify(weatherService).getForecast(eq(LAT), eq(LON), eq(specificDate), eq(false));
+        verify(weatherService).getForecastResult(eq(LAT), eq(LON), eq(specificDate), eq(false));
     }
 
     @Test
@@ -121,8 +134,8 @@ public class WeatherControllerTest {
         );
 
         // Mock service response
-        when(weatherService.getForecast(eq(LAT), eq(LON), any(), eq(true)))
-                .thenReturn(mockForecast);
+        when(weatherService.getForecastResult(eq(LAT), eq(LON), any(), eq(true)))
+                .thenReturn(ForecastResult.fresh(mockForecast));
 
         // Perform request and validate
         mockMvc.perform(MockMvcRequestBuilders
@@ -135,7 +148,7 @@ public class WeatherControllerTest {
                 .andExpect(jsonPath("$.wind.max", is(16.0)));
 
         // Verify service was called with correct parameters
-        verify(weatherService).getForecast(eq(LAT), eq(LON), any(), eq(true));
+        verify(weatherService).getForecastResult(eq(LAT), eq(LON), any(), eq(true));
     }
 
     @Test
@@ -156,8 +169,8 @@ public class WeatherControllerTest {
         );
 
         // Mock service response
-        when(weatherService.getForecast(eq(LAT), eq(LON), eq(specificDate), eq(true)))
-                .thenReturn(mockForecast);
+        when(weatherService.getForecastResult(eq(LAT), eq(LON), eq(specificDate), eq(true)))
+                .thenReturn(ForecastResult.fresh(mockForecast));
 
         // Perform request and validate
         mockMvc.perform(MockMvcRequestBuilders
@@ -172,7 +185,7 @@ public class WeatherControllerTest {
                 .andExpect(jsonPath("$.pop", is(80)));
 
         // Verify service was called with correct parameters
-        verify(weatherService).getForecast(eq(LAT), eq(LON), eq(specificDate), eq(true));
+        verify(weatherService).getForecastResult(eq(LAT), eq(LON), eq(specificDate), eq(true));
     }
 
     @Test
@@ -204,7 +217,7 @@ public class WeatherControllerTest {
     @Test
     void testGetForecast_ServiceError() throws Exception {
         // Mock service to throw an exception
-        when(weatherService.getForecast(eq(LAT), eq(LON), any(), eq(false)))
+        when(weatherService.getForecastResult(eq(LAT), eq(LON), any(), eq(false)))
                 .thenThrow(new RuntimeException("Error fetching weather data"));
 
         // Perform request and validate error response
@@ -215,10 +228,22 @@ public class WeatherControllerTest {
                 .andExpect(content().string(containsString("Error fetching weather data")));
     }
 
+    @Test
+    void testGetForecast_UpstreamRejectionIsServiceUnavailable() throws Exception {
+        when(weatherService.getForecastResult(eq(LAT), eq(LON), any(), eq(false)))
+                .thenThrow(new UpstreamRejectedException("Upstream circuit breaker is open"));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/weather/forecast/{lat},{lon}", LAT, LON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(content().string(containsString("Upstream circuit breaker is open")));
+    }
+
     @Test
     void testHandleExceptions() throws Exception {
         // Mock service to throw a generic exception
-        when(weatherService.getForecast(eq(LAT), eq(LON), any(), eq(false)))
+        when(weatherService.getForecastResult(eq(LAT), eq(LON), any(), eq(false)))
                 .thenThrow(new IllegalArgumentException("Test exception"));
 
         // Perform request and validate error response
@@ -228,4 +253,119 @@ public class WeatherControllerTest {
                 .andExpect(status().isInternalServerError())
                 .andExpect(content().string(containsString("Test exception")));
     }
+
+    @Test
+    void testGetForecast_StaleResponseIsMarked() throws Exception {
+        WeatherForecast mockForecast = new WeatherForecast(LAT, LON, TODAY, "Sunny",
+                new Temperature(75, 65), new Wind(10, 5, "NW"), 20);
+        when(weatherService.getForecastResult(eq(LAT), eq(LON), any(), eq(false)))
+                .thenReturn(new ForecastResult(mockForecast, Duration.ofSeconds(754),
+                        ForecastResult.Freshness.STALE, Duration.ofMinutes(10), null));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/weather/forecast/{lat},{lon}", LAT, LON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Age", "754"))
+                .andExpect(header().string("Warning", containsString("110")))
+                .andExpect(jsonPath("$.forecast", is("Sunny")));
+    }
+
+    @Test
+    void testGetForecast_FreshResponseHasNoWarning() throws Exception {
+        WeatherForecast mockForecast = new WeatherForecast(LAT, LON, TODAY, "Sunny",
+                new Temperature(75, 65), new Wind(10, 5, "NW"), 20);
+        when(weatherService.getForecastResult(eq(LAT), eq(LON), any(), eq(false)))
+                .thenReturn(ForecastResult.fresh(mockForecast));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/weather/forecast/{lat},{lon}", LAT, LON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Warning"))
+                .andExpect(header().doesNotExist("Age"));
+    }
+
+    @Test
+    void testGetForecast_CacheHeadersFromForecastLifetime() throws Exception {
+        WeatherForecast mockForecast = new WeatherForecast(LAT, LON, TODAY, "Sunny",
+                new Temperature(75, 65), new Wind(10, 5, "NW"), 20);
+        Instant lastModified = Instant.parse("2024-06-10T12:00:00Z");
+        when(weatherService.getForecastResult(eq(LAT), eq(LON), any(), eq(false)))
+                .thenReturn(new ForecastResult(mockForecast, Duration.ofSeconds(120),
+                        ForecastResult.Freshness.FRESH, Duration.ofMinutes(10), lastModified));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/weather/forecast/{lat},{lon}", LAT, LON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=600, public"))
+                .andExpect(header().string("Age", "120"))
+                .andExpect(header().string("ETag", WeatherController.strongETag(mockForecast)))
+                .andExpect(header().string("Last-Modified", "Mon, 10 Jun 2024 12:00:00 GMT"));
+    }
+
+    @Test
+    void testGetForecast_MatchingIfNoneMatchReturnsNotModified() throws Exception {
+        WeatherForecast mockForecast = new WeatherForecast(LAT, LON, TODAY, "Sunny",
+                new Temperature(75, 65), new Wind(10, 5, "NW"), 20);
+        when(weatherService.getForecastResult(eq(LAT), eq(LON), any(), eq(false)))
+                .thenReturn(new ForecastResult(mockForecast, Duration.ZERO,
+                        ForecastResult.Freshness.FRESH, Duration.ofMinutes(10), null));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/weather/forecast/{lat},{lon}", LAT, LON)
+                .header("If-None-Match", WeatherController.strongETag(mockForecast))
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // A different forecast gets a different tag
+        WeatherForecast changed = new WeatherForecast(LAT, LON, TODAY, "Rain",
+                new Temperature(75, 65), new Wind(10, 5, "NW"), 20);
+        assertNotEquals(WeatherController.strongETag(mockForecast), WeatherController.strongETag(changed));
+    }
+
+    @Test
+    void testGetForecast_UncacheableForecastIsNoCache() throws Exception {
+        WeatherForecast mockForecast = new WeatherForecast(LAT, LON, TODAY, "Sunny",
+                new Temperature(75, 65), new Wind(10, 5, "NW"), 20);
+        when(weatherService.getForecastResult(eq(LAT), eq(LON), any(), eq(false)))
+                .thenReturn(ForecastResult.fresh(mockForecast));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/weather/forecast/{lat},{lon}", LAT, LON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"));
+    }
+
+    @Test
+    void testGetForecasts_Batch() throws Exception {
+        WeatherForecast mockForecast = new WeatherForecast(LAT, LON, TODAY, "Sunny",
+                new Temperature(75, 65), new Wind(10, 5, "NW"), 20);
+        when(batchForecastService.getForecasts(eq(List.of(new Coordinate(LAT, LON), new Coordinate(95, 0))), any(), eq(true)))
+                .thenReturn(List.of(BatchForecastResult.success(mockForecast),
+                        BatchForecastResult.failure(new Coordinate(95, 0), "Latitude must be between -90 and 90 degrees")));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post("/weather/forecast/batch")
+                .param("metric", "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"lat\":37.7749,\"lon\":-122.4194},{\"lat\":95,\"lon\":0}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].forecast.forecast", is("Sunny")))
+                .andExpect(jsonPath("$[1].latitude", is(95.0)))
+                .andExpect(jsonPath("$[1].error", containsString("Latitude")));
+    }
+
+    @Test
+    void testGetForecasts_EmptyBatchRejected() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders
+                .post("/weather/forecast/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(content().string(containsString("Batch must contain between 1 and")));
+    }
 }
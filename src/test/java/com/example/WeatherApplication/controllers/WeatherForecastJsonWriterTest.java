@@ -0,0 +1,56 @@
+package com.example.WeatherApplication.controllers;
+
+import com.example.WeatherApplication.models.SummaryDictionary;
+import com.example.WeatherApplication.models.Temperature;
+import com.example.WeatherApplication.models.WeatherForecast;
+import com.example.WeatherApplication.models.Wind;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeatherForecastJsonWriterTest {
+
+    // Configured like Spring Boot's, which otherwise serializes the responses
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    private final WeatherForecastJsonWriter writer = new WeatherForecastJsonWriter(100);
+
+    @Test
+    void testWrite_MatchesJackson() throws Exception {
+        String summary = SummaryDictionary.shared().intern("Day: Sunny – Night: Clear");
+        assertMatchesJackson(new WeatherForecast(40.7128, -74.006, LocalDate.of(2024, 6, 10), summary,
+                new Temperature(68, 55), new Wind(15, 5, "NW"), 10));
+        assertMatchesJackson(new WeatherForecast(-33.8688, 151.2093, LocalDate.of(2024, 12, 31),
+                "Not interned: \"quoted\", back\\slash, tab\t, é晴",
+                new Temperature(-1.5, 1.0E-4), new Wind(Double.NaN, 0, null), 100));
+        assertMatchesJackson(new WeatherForecast(0, 0, null, null, null, null, 0));
+    }
+
+    @Test
+    void testWrite_ReusesBodyBytesAcrossCoordinates() throws Exception {
+        WeatherForecast first = new WeatherForecast(40.7128, -74.006, LocalDate.of(2024, 6, 10), "Sunny",
+                new Temperature(68, 55), new Wind(15, 5, "NW"), 10);
+        WeatherForecast second = new WeatherForecast(40.7129, -74.007, LocalDate.of(2024, 6, 10), "Sunny",
+                new Temperature(68, 55), new Wind(15, 5, "NW"), 10);
+
+        String firstJson = new String(writer.toBytes(first), StandardCharsets.UTF_8);
+        String secondJson = new String(writer.toBytes(second), StandardCharsets.UTF_8);
+
+        assertEquals(mapper.writeValueAsString(second), secondJson);
+        assertEquals(firstJson.substring(firstJson.indexOf(",\"date\"")), secondJson.substring(secondJson.indexOf(",\"date\"")));
+    }
+
+    private void assertMatchesJackson(WeatherForecast forecast) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeTo(forecast, out);
+        assertEquals(mapper.writeValueAsString(forecast), out.toString(StandardCharsets.UTF_8));
+        assertArrayEquals(mapper.writeValueAsBytes(forecast), writer.toBytes(forecast));
+    }
+}
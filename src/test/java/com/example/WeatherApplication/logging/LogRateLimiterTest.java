@@ -0,0 +1,82 @@
+package com.example.WeatherApplication.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LogRateLimiterTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final LoggerContext context = new LoggerContext();
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    public void setUp() {
+        LogRateLimiter limiter = new LogRateLimiter(nanoTime::get);
+        limiter.setLoggerPrefix("com.example");
+        limiter.setMessagesPerSecond(3);
+        limiter.setContext(context);
+        limiter.start();
+        context.addTurboFilter(limiter);
+
+        appender.setContext(context);
+        appender.start();
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+    }
+
+    @Test
+    public void testLimitsEachStatementPerSecond() {
+        Logger logger = context.getLogger("com.example.Service");
+        for (int i = 0; i < 10; i++) {
+            logger.warn("Period {} has no start time", i);
+            logger.info("Fetching {}", i);
+        }
+
+        assertEquals(6, appender.list.size());
+        assertEquals(3, appender.list.stream().filter(e -> e.getMessage().startsWith("Period")).count());
+    }
+
+    @Test
+    public void testReportsDroppedCountInTheNextSecond() {
+        Logger logger = context.getLogger("com.example.Service");
+        for (int i = 0; i < 10; i++) {
+            logger.warn("Period {} has no start time", i);
+        }
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        logger.warn("Period {} has no start time", 10);
+
+        assertEquals(5, appender.list.size());
+        ILoggingEvent report = appender.list.get(3);
+        assertEquals(Level.WARN, report.getLevel());
+        assertTrue(report.getFormattedMessage().startsWith("Dropped 7 log messages like \"Period {} has no start time\""),
+                report.getFormattedMessage());
+        assertEquals("Period 10 has no start time", appender.list.get(4).getFormattedMessage());
+    }
+
+    @Test
+    public void testIgnoresOtherLoggersAndDisabledLevels() {
+        Logger library = context.getLogger("org.library.Client");
+        Logger service = context.getLogger("com.example.Service");
+        for (int i = 0; i < 10; i++) {
+            library.info("Connecting {}", i);
+            service.debug("Cache hit {}", i);
+        }
+        // Disabled calls were not counted against the statement's budget
+        context.getLogger("com.example").setLevel(Level.DEBUG);
+        service.debug("Cache hit {}", 10);
+
+        assertEquals(11, appender.list.size());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.WeatherApplication.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ForecastMetricsTest {
+
+    private static final String FORECAST_URL = "http://upstream/gridpoints/TST/1,2/forecast";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ForecastMetrics metrics = new ForecastMetrics(registry);
+
+    @Test
+    void testUpstreamCallIsInFlightAndTimedAsItsFetchStage() {
+        double inFlightDuringCall = metrics.callUpstream(ForecastMetrics.Endpoint.POINTS, "http://upstream/points/1,2",
+                exchange -> registry.get("weather.upstream.in-flight").tag("endpoint", "points").gauge().value());
+
+        assertEquals(1, inFlightDuringCall);
+        assertEquals(0, registry.get("weather.upstream.in-flight").tag("endpoint", "points").gauge().value());
+        assertEquals(1, registry.get("weather.forecast.stage").tag("stage", "points_fetch").timer().count());
+        assertEquals(0, registry.get("weather.forecast.stage").tag("stage", "forecast_fetch").timer().count());
+    }
+
+    @Test
+    void testFailedCallsAreCountedByStatus() {
+        assertThrows(HttpClientErrorException.class, () -> metrics.callUpstream(ForecastMetrics.Endpoint.FORECAST, FORECAST_URL, exchange -> {
+            throw HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", null, null, null);
+        }));
+        assertThrows(ResourceAccessException.class, () -> metrics.callUpstream(ForecastMetrics.Endpoint.FORECAST, FORECAST_URL, exchange -> {
+            throw new ResourceAccessException("Read timed out");
+        }));
+
+        assertEquals(1, registry.get("weather.upstream.responses").tags("endpoint", "forecast", "status", "429").counter().count());
+        assertEquals(1, registry.get("weather.upstream.responses").tags("endpoint", "forecast", "status", "none").counter().count());
+        assertEquals(2, registry.get("weather.forecast.stage").tag("stage", "forecast_fetch").timer().count());
+    }
+
+    @Test
+    void testStagesPublishPrometheusHistograms() {
+        PrometheusMeterRegistry prometheus = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        new ForecastMetrics(prometheus).record(ForecastMetrics.Stage.DECODE, TimeUnit.MILLISECONDS.toNanos(3));
+
+        String scrape = prometheus.scrape();
+        assertTrue(scrape.contains("weather_forecast_stage_seconds_bucket{stage=\"decode\",le=\"0.003145726\",} 1.0"), scrape);
+        assertTrue(scrape.contains("weather_forecast_stage_seconds_bucket{stage=\"decode\",le=\"0.002796201\",} 0.0"), scrape);
+    }
+}
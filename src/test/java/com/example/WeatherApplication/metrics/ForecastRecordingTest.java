@@ -0,0 +1,128 @@
+package com.example.WeatherApplication.metrics;
+
+import com.example.WeatherApplication.cache.RequestCoalescer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ForecastRecordingTest {
+
+    private final ForecastRecording recording = new ForecastRecording();
+    private final ForecastMetrics metrics = new ForecastMetrics(new SimpleMeterRegistry());
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void tearDown() {
+        recording.close();
+    }
+
+    @Test
+    void testEventsAreOffUntilRecordingStarts() {
+        assertFalse(new ForecastCacheEvent().isEnabled());
+
+        recording.start();
+        assertTrue(new ForecastCacheEvent().isEnabled());
+        assertEquals(true, recording.status().get("enabled"));
+
+        recording.stop(null);
+        assertFalse(new ForecastCacheEvent().isEnabled());
+        assertEquals(false, recording.status().get("enabled"));
+    }
+
+    @Test
+    void testToggleWritesRecordingIntoDumpDirectory() throws IOException {
+        Path dumps = directory.resolve("dumps");
+        ReflectionTestUtils.setField(recording, "dumpDirectory", dumps);
+
+        recording.toggle(true);
+        Map<String, Object> status = recording.toggle(false);
+
+        Path file = Path.of((String) status.get("file"));
+        assertEquals(dumps.toAbsolutePath(), file.getParent());
+        assertTrue(file.getFileName().toString().startsWith("forecast-events-"));
+        assertFalse(RecordingFile.readAllEvents(file).isEmpty());
+        // Nothing was running, so nothing is written
+        assertNull(recording.toggle(false).get("file"));
+    }
+
+    @Test
+    void testUpstreamCallRecordedWithStatusAndBytes() throws IOException {
+        byte[] body = "{\"properties\":{}}".getBytes(StandardCharsets.UTF_8);
+        recording.start();
+        metrics.callUpstream(ForecastMetrics.Endpoint.FORECAST, "http://upstream/gridpoints/TST/1,2/forecast",
+                exchange -> {
+                    try {
+                        return exchange.received(new MockClientHttpResponse(body, HttpStatus.OK)).readAllBytes();
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+
+        RecordedEvent event = single(stopAndRead(), "com.example.WeatherApplication.UpstreamCall");
+        assertEquals("forecast", event.getString("endpoint"));
+        assertEquals("/gridpoints/{office}/{x},{y}/forecast", event.getString("urlTemplate"));
+        assertEquals(200, event.getInt("status"));
+        assertEquals(body.length, event.getLong("bytes"));
+    }
+
+    @Test
+    void testCoalescedWaitRecorded() throws Exception {
+        RequestCoalescer<String, String> coalescer = new RequestCoalescer<>("test");
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        recording.start();
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> coalescer.execute("cell", () -> {
+            loading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "forecast";
+        }));
+        loading.await();
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> coalescer.execute("cell", () -> "second load"));
+        while (coalescer.getCoalescedCount() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertEquals("forecast", leader.get());
+        assertEquals("forecast", follower.get());
+        RecordedEvent event = single(stopAndRead(), "com.example.WeatherApplication.CoalescedWait");
+        assertEquals("test", event.getString("coalescer"));
+        assertEquals("cell", event.getString("key"));
+    }
+
+    private List<RecordedEvent> stopAndRead() throws IOException {
+        Path file = directory.resolve("forecast-events.jfr");
+        recording.stop(file);
+        return RecordingFile.readAllEvents(file);
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .toList();
+        assertEquals(1, matching.size(), name);
+        return matching.get(0);
+    }
+}
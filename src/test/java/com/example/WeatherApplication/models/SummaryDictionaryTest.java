@@ -0,0 +1,70 @@
+package com.example.WeatherApplication.models;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SummaryDictionaryTest {
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder().addModule(new JavaTimeModule()).build();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testIntern_ReturnsOneSharedInstance() {
+        SummaryDictionary dictionary = new SummaryDictionary(null, 10);
+        String first = dictionary.intern(new String("Day: Sunny – Night: Clear"));
+        String second = dictionary.intern(new String("Day: Sunny – Night: Clear"));
+
+        assertSame(first, second);
+        assertSame(first, dictionary.get(dictionary.idOf("Day: Sunny – Night: Clear")));
+        assertEquals(SummaryDictionary.NONE, dictionary.idOf(null));
+        assertNull(dictionary.get(5));
+    }
+
+    @Test
+    void testIntern_FullDictionaryPassesTextThrough() {
+        SummaryDictionary dictionary = new SummaryDictionary(null, 1);
+        dictionary.intern("Sunny");
+        String text = new String("Cloudy");
+
+        assertSame(text, dictionary.intern(text));
+        assertEquals(SummaryDictionary.NONE, dictionary.idOf("Cloudy"));
+        assertNull(dictionary.serialized("Cloudy"));
+        assertEquals(1, dictionary.size());
+    }
+
+    @Test
+    void testFileBacked_KeepsIdsAcrossReopeningAndInternsThroughShared() {
+        Path file = dir.resolve("summaries");
+        SummaryDictionary dictionary = new SummaryDictionary(file, 10);
+        int sunny = dictionary.idOf("Day: Sunny – Night: Clear");
+        int rain = dictionary.idOf("Day: Rain – Night: Rain");
+        assertEquals(SummaryDictionary.NONE, dictionary.idOf("Day: Sunny\nNight: Clear"));
+
+        SummaryDictionary reopened = new SummaryDictionary(file, 10);
+        assertEquals(2, reopened.size());
+        assertEquals(sunny, reopened.idOf("Day: Sunny – Night: Clear"));
+        assertSame(SummaryDictionary.shared().intern("Day: Rain – Night: Rain"), reopened.get(rain));
+    }
+
+    @Test
+    void testSerializer_WritesSameJsonAsDefault() throws Exception {
+        String summary = SummaryDictionary.shared().intern("Day: \"Sunny\" – Night: Clear");
+        WeatherForecast forecast = new WeatherForecast(40.0, -74.0, LocalDate.of(2024, 6, 10), summary,
+                new Temperature(68, 55), new Wind(15, 5, "NW"), 10);
+        WeatherForecast uninterned = new WeatherForecast(40.0, -74.0, LocalDate.of(2024, 6, 10),
+                "Not interned é", new Temperature(68, 55), new Wind(15, 5, "NW"), 10);
+
+        assertEquals(summary, MAPPER.readTree(MAPPER.writeValueAsBytes(forecast)).get("forecast").asText());
+        assertEquals("Not interned é", MAPPER.readTree(MAPPER.writeValueAsString(uninterned)).get("forecast").asText());
+    }
+}
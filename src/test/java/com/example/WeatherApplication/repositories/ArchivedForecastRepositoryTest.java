@@ -0,0 +1,49 @@
+package com.example.WeatherApplication.repositories;
+
+import com.example.WeatherApplication.models.ArchivedForecast;
+import com.example.WeatherApplication.models.DailyForecast;
+import com.example.WeatherApplication.models.ForecastDay;
+import com.example.WeatherApplication.models.GridCell;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ArchivedForecastRepositoryTest {
+
+    private static final GridCell CELL = new GridCell(1, 1, 0.02);
+    private static final GridCell OTHER = new GridCell(2, 2, 0.02);
+    private static final LocalDate MONDAY = LocalDate.of(2024, 6, 10);
+    private static final LocalDate TUESDAY = MONDAY.plusDays(1);
+    private static final DailyForecast SUNNY = new DailyForecast(55, 68, 5, 15, "Day: Sunny", 10);
+    private static final DailyForecast RAINY = new DailyForecast(50, 60, 10, 20, "Day: Rain", 90);
+
+    @Autowired
+    private ArchivedForecastRepository repository;
+
+    @Test
+    void testFindLatest_ReturnsMostRecentSnapshotPerDate() {
+        Instant recorded = Instant.parse("2024-06-09T12:00:00Z");
+        repository.saveAll(List.of(
+                new ArchivedForecast(CELL, MONDAY, SUNNY, recorded),
+                new ArchivedForecast(CELL, MONDAY, RAINY, recorded.plusSeconds(3600)),
+                new ArchivedForecast(CELL, TUESDAY, SUNNY, recorded),
+                new ArchivedForecast(CELL, TUESDAY.plusDays(1), SUNNY, recorded),
+                new ArchivedForecast(OTHER, MONDAY, SUNNY, recorded.plusSeconds(7200))));
+
+        List<ArchivedForecast> latest = repository.findLatest(ForecastDay.key(CELL), List.of(MONDAY, TUESDAY));
+
+        latest.sort(Comparator.comparing(ArchivedForecast::getForecastDate));
+        assertEquals(2, latest.size());
+        assertEquals(RAINY, latest.get(0).toDailyForecast());
+        assertEquals(TUESDAY, latest.get(1).getForecastDate());
+        assertEquals(SUNNY, latest.get(1).toDailyForecast());
+    }
+}
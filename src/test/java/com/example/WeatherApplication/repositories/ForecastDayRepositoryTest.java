@@ -0,0 +1,50 @@
+package com.example.WeatherApplication.repositories;
+
+import com.example.WeatherApplication.models.DailyForecast;
+import com.example.WeatherApplication.models.ForecastDay;
+import com.example.WeatherApplication.models.GridCell;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ForecastDayRepositoryTest {
+
+    private static final GridCell CELL = new GridCell(1, 1, 0.02);
+    private static final LocalDate MONDAY = LocalDate.of(2024, 6, 10);
+    private static final DailyForecast SUNNY = new DailyForecast(55, 68, 5, 15, "Day: Sunny", 10);
+    private static final DailyForecast RAINY = new DailyForecast(50, 60, 10, 20, "Day: Rain", 90);
+
+    @Autowired
+    private ForecastDayRepository repository;
+
+    @Test
+    void testUpsertAll_InsertsThenReplacesByCellAndDate() {
+        Instant fetched = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        repository.upsertAll(List.of(
+                new ForecastDay(CELL, MONDAY, SUNNY, fetched, fetched.plusSeconds(600), "\"v1\"", null),
+                new ForecastDay(CELL, MONDAY.plusDays(1), SUNNY, fetched, fetched.plusSeconds(600), "\"v1\"", null)));
+
+        Instant refetched = fetched.plusSeconds(60);
+        repository.upsertAll(List.of(
+                new ForecastDay(CELL, MONDAY, RAINY, refetched, refetched.plusSeconds(600), "\"v2\"", "Mon, 10 Jun 2024 12:00:00 GMT")));
+
+        List<ForecastDay> rows = repository.findByExpiresAtAfterOrderByFetchedAtDesc(fetched, PageRequest.of(0, 10));
+        assertEquals(2, rows.size());
+        ForecastDay monday = rows.get(0);
+        assertEquals(MONDAY, monday.getForecastDate());
+        assertEquals(RAINY, monday.toDailyForecast());
+        assertEquals(refetched, monday.getFetchedAt());
+        assertEquals("\"v2\"", monday.getEtag());
+        assertEquals(CELL, monday.toGridCell());
+        assertEquals(SUNNY, rows.get(1).toDailyForecast());
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.WeatherApplication.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    @Test
+    void testRejectsBeyondLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 0.5, 2.0);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    void testGrowsWhileSaturatedAndFast() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 0.5, 2.0);
+
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+        limiter.release(FAST, false);
+
+        assertEquals(3, limiter.getLimit());
+    }
+
+    @Test
+    void testBacksOffOnLatencySpikeAndFailure() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 1, 10, 0.5, 2.0);
+        limiter.tryAcquire();
+        limiter.release(FAST, false);
+
+        acquire(limiter, 4);
+        limiter.release(SLOW, false);
+        assertEquals(4, limiter.getLimit());
+
+        limiter.release(FAST, true);
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void testLowConcurrencyJitterLeavesLimitAlone() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 1, 10, 0.5, 2.0);
+        for (int i = 0; i < 100; i++) {
+            acquire(limiter, 2);
+            limiter.release(i % 3 == 0 ? SLOW : FAST, false);
+            limiter.release(FAST, i % 10 == 0);
+        }
+
+        assertEquals(8, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testJudgesEachEndpointAgainstItsOwnBaseline() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 10, 0.5, 2.0);
+        acquire(limiter, 4);
+        limiter.release("points", FAST / 10, false);
+        // Far slower than points, but the first forecast sample sets its own baseline
+        limiter.release("forecast", SLOW, false);
+        assertEquals(6, limiter.getLimit());
+
+        acquire(limiter, 2);
+        limiter.release("points", SLOW, false);
+        assertEquals(3, limiter.getLimit());
+    }
+
+    @Test
+    void testNeverDropsBelowMinimum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 2, 10, 0.5, 2.0);
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+            limiter.release(FAST, true);
+        }
+
+        assertEquals(2, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testCancelDoesNotTouchLatencyBaseline() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 1, 10, 0.5, 2.0);
+        limiter.tryAcquire();
+        limiter.release(FAST, false);
+
+        acquire(limiter, 5);
+        limiter.cancel();
+        limiter.release(FAST, false);
+
+        assertEquals(9, limiter.getLimit());
+        assertEquals(3, limiter.getInFlight());
+    }
+
+    private static void acquire(AdaptiveConcurrencyLimiter limiter, int permits) {
+        for (int i = 0; i < permits; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.WeatherApplication.resilience;
+
+import com.example.WeatherApplication.config.UpstreamResilienceProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestHedgerTest {
+
+    private ExecutorService executor;
+    private final UpstreamResilienceProperties.Hedging hedging = new UpstreamResilienceProperties.Hedging();
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+        hedging.setEnabled(true);
+        hedging.setMinDelay(Duration.ofMillis(1));
+        hedging.setMinimumSamples(5);
+        hedging.setWindowSize(5);
+        hedging.setMaxExtraLoad(1.0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testSlowCallIsHedgedAndHedgeWins() {
+        RequestHedger hedger = warmedUp(new RequestHedger(hedging, executor));
+        CountDownLatch stuck = new CountDownLatch(1);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = hedger.call(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                await(stuck);
+                return "primary";
+            }
+            return "hedge";
+        });
+        stuck.countDown();
+
+        assertEquals("hedge", result);
+        assertEquals(1, hedger.getIssuedCount());
+        // The hedge thread counts its win just after handing the result over
+        for (int i = 0; i < 500 && hedger.getWonCount() == 0; i++) {
+            sleep(1);
+        }
+        assertEquals(1, hedger.getWonCount());
+    }
+
+    @Test
+    void testNoHedgeWithoutBudget() {
+        hedging.setMaxExtraLoad(0.0);
+        RequestHedger hedger = warmedUp(new RequestHedger(hedging, executor));
+
+        String result = hedger.call(() -> {
+            sleep(20);
+            return "primary";
+        });
+
+        assertEquals("primary", result);
+        assertEquals(0, hedger.getIssuedCount());
+    }
+
+    @Test
+    void testFailureReportedOnlyWhenEveryAttemptFailed() {
+        RequestHedger hedger = warmedUp(new RequestHedger(hedging, executor));
+        AtomicInteger attempts = new AtomicInteger();
+
+        RuntimeException failure = assertThrows(RuntimeException.class, () -> hedger.call(() -> {
+            attempts.incrementAndGet();
+            sleep(20);
+            throw new RuntimeException("upstream down");
+        }));
+
+        assertEquals("upstream down", failure.getMessage());
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void testRejectedHedgeAfterFailedPrimaryStillCompletes() {
+        CountDownLatch hedgeRequested = new CountDownLatch(1);
+        CountDownLatch primaryDone = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        // Warm-up calls run normally; the sixth is the primary, the seventh the hedge, which
+        // is rejected only once the primary has failed
+        RequestHedger hedger = warmedUp(new RequestHedger(hedging, command -> {
+            int execution = executions.incrementAndGet();
+            if (execution <= 5) {
+                executor.execute(command);
+            } else if (execution == 6) {
+                executor.execute(() -> {
+                    command.run();
+                    primaryDone.countDown();
+                });
+            } else {
+                hedgeRequested.countDown();
+                await(primaryDone);
+                throw new TaskRejectedException("Hedge pool saturated");
+            }
+        }));
+
+        RuntimeException failure = assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+                assertThrows(RuntimeException.class, () -> hedger.call(() -> {
+                    await(hedgeRequested);
+                    throw new RuntimeException("upstream down");
+                })));
+
+        assertEquals("upstream down", failure.getMessage());
+        assertEquals(0, hedger.getIssuedCount());
+    }
+
+    @Test
+    void testRejectedHedgeRefundsItsToken() {
+        hedging.setMaxExtraLoad(0.2);
+        AtomicInteger executions = new AtomicInteger();
+        // The warm-up banks exactly one token; the first hedge (seventh execution) is rejected
+        RequestHedger hedger = warmedUp(new RequestHedger(hedging, command -> {
+            if (executions.incrementAndGet() == 7) {
+                throw new TaskRejectedException("Hedge pool saturated");
+            }
+            executor.execute(command);
+        }));
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals("slow", hedger.call(() -> {
+                sleep(20);
+                return "slow";
+            }));
+        }
+
+        // Without the refund the second call would have found the budget empty
+        assertEquals(9, executions.get());
+        assertEquals(1, hedger.getIssuedCount());
+    }
+
+    @Test
+    void testUnsampledResultsDoNotSetTheThreshold() {
+        RequestHedger hedger = new RequestHedger(hedging, executor);
+        for (int i = 0; i < 5; i++) {
+            hedger.call(() -> "not-modified", result -> false);
+        }
+
+        String result = hedger.call(() -> {
+            sleep(20);
+            return "full";
+        });
+
+        // No samples yet, so nothing to judge the slow call against
+        assertEquals("full", result);
+        assertEquals(0, hedger.getIssuedCount());
+    }
+
+    @Test
+    void testDisabledCallsDirectly() {
+        RequestHedger hedger = new RequestHedger(new UpstreamResilienceProperties.Hedging(), command -> {
+            throw new AssertionError("Executor must not be used");
+        });
+
+        assertEquals("direct", hedger.call(() -> "direct"));
+    }
+
+    // Fast samples put the hedging threshold at the minimum delay
+    private static RequestHedger warmedUp(RequestHedger hedger) {
+        for (int i = 0; i < 5; i++) {
+            hedger.call(() -> "warm-up");
+        }
+        return hedger;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
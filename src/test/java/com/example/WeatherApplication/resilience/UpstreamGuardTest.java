@@ -0,0 +1,82 @@
+package com.example.WeatherApplication.resilience;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamGuardTest {
+
+    private final UpstreamGuard guard = new UpstreamGuard(
+            new CircuitBreaker(0.5, 4, 2, Duration.ofMinutes(1), 1, Clock.systemUTC()),
+            new AdaptiveConcurrencyLimiter(1, 1, 1, 0.5, 2.0));
+
+    @Test
+    void testFailuresOpenCircuitAndFailFast() {
+        for (int i = 0; i < 2; i++) {
+            assertThrows(ResourceAccessException.class, () -> guard.call("test", () -> {
+                throw new ResourceAccessException("Read timed out");
+            }));
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, guard.getCircuitState());
+        UpstreamRejectedException rejected = assertThrows(UpstreamRejectedException.class, () -> guard.call("test", () -> "unreachable"));
+        assertEquals("Upstream circuit breaker is open", rejected.getMessage());
+    }
+
+    @Test
+    void testErrorsCountAsFailures() {
+        for (int i = 0; i < 2; i++) {
+            assertThrows(StackOverflowError.class, () -> guard.call("test", () -> {
+                throw new StackOverflowError();
+            }));
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, guard.getCircuitState());
+    }
+
+    @Test
+    void testClientErrorsDoNotOpenCircuit() {
+        for (int i = 0; i < 4; i++) {
+            assertThrows(HttpClientErrorException.class, () -> guard.call("test", () -> {
+                throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+            }));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getCircuitState());
+        assertEquals("ok", guard.call("test", () -> "ok"));
+    }
+
+    @Test
+    void testConcurrencyLimitRejectsNestedCall() {
+        UpstreamRejectedException rejected = assertThrows(UpstreamRejectedException.class,
+                () -> guard.call("test", () -> guard.call("test", () -> "inner")));
+
+        assertTrue(rejected.getMessage().contains("concurrency limit"));
+    }
+
+    @Test
+    void testUnsampledResultsStayOutOfLatencyBaseline() {
+        UpstreamGuard adaptive = new UpstreamGuard(
+                new CircuitBreaker(0.5, 4, 2, Duration.ofMinutes(1), 1, Clock.systemUTC()),
+                new AdaptiveConcurrencyLimiter(2, 1, 10, 0.5, 2.0));
+
+        // An instant 304 would make the full response below look congested
+        assertEquals(304, adaptive.call("forecast", () -> 304, status -> status != 304));
+        assertEquals(200, adaptive.call("forecast", () -> {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 200;
+        }, status -> status != 304));
+
+        assertEquals(3, adaptive.getConcurrencyLimit());
+    }
+}
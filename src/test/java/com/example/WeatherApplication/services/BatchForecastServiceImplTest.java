@@ -0,0 +1,145 @@
+package com.example.WeatherApplication.services;
+
+import com.example.WeatherApplication.cache.CoordinateQuantizer;
+import com.example.WeatherApplication.config.BatchConfig;
+import com.example.WeatherApplication.models.BatchForecastResult;
+import com.example.WeatherApplication.models.Coordinate;
+import com.example.WeatherApplication.models.Temperature;
+import com.example.WeatherApplication.models.WeatherForecast;
+import com.example.WeatherApplication.models.Wind;
+import com.example.WeatherApplication.services.Impl.BatchForecastServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BatchForecastServiceImplTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 6, 10);
+
+    @Mock
+    private WeatherService weatherService;
+
+    private ThreadPoolTaskExecutor executor;
+    private BatchForecastServiceImpl batchForecastService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        useExecutor(4, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void testGetForecasts_SameCellIsFetchedOnce() {
+        when(weatherService.getForecast(anyDouble(), anyDouble(), eq(DATE), eq(false)))
+                .thenAnswer(invocation -> forecast(invocation.getArgument(0), invocation.getArgument(1)));
+
+        List<BatchForecastResult> results = batchForecastService.getForecasts(List.of(
+                new Coordinate(37.7749, -122.4194),
+                new Coordinate(37.7751, -122.4196),
+                new Coordinate(40.7128, -74.0060)), DATE, false);
+
+        assertEquals(3, results.size());
+        verify(weatherService, times(2)).getForecast(anyDouble(), anyDouble(), eq(DATE), eq(false));
+        // Shared fetches are relocated back onto each caller's own coordinate, in request order
+        assertEquals(37.7751, results.get(1).latitude());
+        assertEquals(37.7751, results.get(1).forecast().latitude());
+        assertEquals(-74.0060, results.get(2).forecast().longitude());
+        assertTrue(results.stream().allMatch(r -> r.error() == null));
+    }
+
+    @Test
+    void testGetForecasts_FailuresAreReportedPerItem() {
+        when(weatherService.getForecast(eq(37.7749), eq(-122.4194), eq(DATE), eq(false)))
+                .thenReturn(forecast(37.7749, -122.4194));
+        when(weatherService.getForecast(eq(40.7128), eq(-74.0060), eq(DATE), eq(false)))
+                .thenThrow(new RuntimeException("Error getting weather forecast: upstream down"));
+
+        List<BatchForecastResult> results = batchForecastService.getForecasts(List.of(
+                new Coordinate(37.7749, -122.4194),
+                new Coordinate(95.0, 0.0),
+                new Coordinate(40.7128, -74.0060)), DATE, false);
+
+        assertNotNull(results.get(0).forecast());
+        assertNull(results.get(1).forecast());
+        assertEquals("Latitude must be between -90 and 90 degrees", results.get(1).error());
+        assertTrue(results.get(2).error().contains("upstream down"));
+        verify(weatherService, never()).getForecast(eq(95.0), anyDouble(), eq(DATE), eq(false));
+    }
+
+    @Test
+    void testGetForecasts_SlowCellTimesOutAndIsCancelled() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(weatherService.getForecast(anyDouble(), anyDouble(), eq(DATE), eq(false))).thenAnswer(invocation -> {
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return forecast(invocation.getArgument(0), invocation.getArgument(1));
+        });
+        ReflectionTestUtils.setField(batchForecastService, "timeout", Duration.ofMillis(50));
+
+        List<BatchForecastResult> results = batchForecastService.getForecasts(List.of(
+                new Coordinate(37.7749, -122.4194),
+                new Coordinate(37.7751, -122.4196)), DATE, false);
+
+        assertEquals("Timed out fetching weather data", results.get(0).error());
+        assertEquals("Timed out fetching weather data", results.get(1).error());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testGetForecasts_CellsBeyondQueueCapacityFailOnTheirOwn() {
+        useExecutor(1, 1);
+        when(weatherService.getForecast(anyDouble(), anyDouble(), eq(DATE), eq(false))).thenAnswer(invocation -> {
+            new CountDownLatch(1).await();
+            return forecast(invocation.getArgument(0), invocation.getArgument(1));
+        });
+        ReflectionTestUtils.setField(batchForecastService, "timeout", Duration.ofMillis(50));
+
+        // The first cell takes the only thread and the second the only queue slot
+        List<BatchForecastResult> results = batchForecastService.getForecasts(List.of(
+                new Coordinate(37.7749, -122.4194),
+                new Coordinate(40.7128, -74.0060),
+                new Coordinate(47.6062, -122.3321)), DATE, false);
+
+        assertEquals("Timed out fetching weather data", results.get(0).error());
+        assertEquals("Timed out fetching weather data", results.get(1).error());
+        assertEquals("Too many batch fetches in progress, try again later", results.get(2).error());
+    }
+
+    // Configured as in production
+    private void useExecutor(int parallelism, int queueCapacity) {
+        if (executor != null) {
+            executor.shutdown();
+        }
+        executor = new BatchConfig().batchForecastExecutor(parallelism, queueCapacity);
+        executor.initialize();
+        batchForecastService = new BatchForecastServiceImpl(weatherService, new CoordinateQuantizer(0.02), executor);
+    }
+
+    private static WeatherForecast forecast(double lat, double lon) {
+        return new WeatherForecast(lat, lon, DATE, "Sunny", new Temperature(75, 65), new Wind(10, 5, "NW"), 20);
+    }
+}
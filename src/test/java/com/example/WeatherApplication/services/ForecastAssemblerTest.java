@@ -0,0 +1,110 @@
+package com.example.WeatherApplication.services;
+
+import com.example.WeatherApplication.models.CellForecast;
+import com.example.WeatherApplication.models.DailyForecast;
+import com.example.WeatherApplication.models.WeatherForecast;
+import com.example.WeatherApplication.services.Impl.ForecastAssembler;
+import com.example.WeatherApplication.upstream.ForecastPeriod;
+import com.example.WeatherApplication.upstream.ForecastResponseParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ForecastAssemblerTest {
+
+    private static final LocalDate JUNE_10 = LocalDate.of(2024, 6, 10);
+    private static final LocalDate JUNE_11 = LocalDate.of(2024, 6, 11);
+
+    @Test
+    void testAggregate_SummariesAreSharedAcrossFetches() throws IOException {
+        // Separately parsed responses, as for two cells or two fetches of one cell
+        DailyForecast first = recordedForecast().forDate(JUNE_10);
+        DailyForecast second = recordedForecast().forDate(JUNE_10);
+
+        assertSame(first.summary(), second.summary());
+    }
+
+    @Test
+    void testAggregate_GroupsPeriodsByStartDate() throws IOException {
+        CellForecast forecast = recordedForecast();
+
+        assertEquals(7, forecast.days().size());
+
+        DailyForecast today = forecast.forDate(JUNE_10);
+        assertEquals(55, today.minTemperature());
+        assertEquals(68, today.maxTemperature());
+        assertEquals(5, today.minWindSpeed());
+        assertEquals(15, today.maxWindSpeed());
+        assertEquals("Day: Patchy Fog then Mostly Sunny – Night: Mostly Cloudy", today.summary());
+        assertEquals(0, today.probabilityOfPrecipitation());
+
+        assertEquals(10, forecast.forDate(JUNE_11).probabilityOfPrecipitation());
+    }
+
+    @Test
+    void testToForecast_ConvertsUnitsPerRequest() throws IOException {
+        CellForecast forecast = recordedForecast();
+
+        WeatherForecast imperial = ForecastAssembler.toForecast(37.78, -122.42, JUNE_11, false, forecast);
+        WeatherForecast metric = ForecastAssembler.toForecast(37.78, -122.42, JUNE_11, true, forecast);
+
+        assertEquals(71, imperial.temperature().high());
+        assertEquals(56, imperial.temperature().low());
+        assertEquals(21, metric.temperature().high());
+        assertEquals(13, metric.temperature().low());
+        assertEquals(16, metric.wind().max());
+        assertEquals(JUNE_11, metric.date());
+    }
+
+    @Test
+    void testToForecast_EveryLocationGetsItsRecordedValues() {
+        // Archived snapshots and batch results go through here as well; no location is special
+        DailyForecast rainy = new DailyForecast(50, 59, 10, 20, "Day: Rain", 90);
+
+        WeatherForecast imperial = ForecastAssembler.toForecast(37.7749, -122.4194, JUNE_10, false, rainy);
+        WeatherForecast metric = ForecastAssembler.toForecast(37.7749, -122.4194, JUNE_10, true, rainy);
+
+        assertEquals(59, imperial.temperature().high());
+        assertEquals(50, imperial.temperature().low());
+        assertEquals(20, imperial.wind().max());
+        assertEquals(90, imperial.pop());
+        assertEquals(15, metric.temperature().high());
+        assertEquals(10, metric.temperature().low());
+        assertEquals(32, metric.wind().max());
+        assertEquals(16, metric.wind().min());
+    }
+
+    @Test
+    void testToForecast_DateOutsideForecastUsesDefaults() throws IOException {
+        WeatherForecast result = ForecastAssembler.toForecast(37.78, -122.42, LocalDate.of(2024, 7, 1), false,
+                recordedForecast());
+
+        assertEquals(75, result.temperature().high());
+        assertEquals(65, result.temperature().low());
+        assertEquals("Day: No day forecast available – Night: No night forecast available", result.forecast());
+    }
+
+    @Test
+    void testAggregate_PeriodsWithoutStartTimeCountAsToday() {
+        CellForecast forecast = ForecastAssembler.aggregate(List.of(
+                new ForecastPeriod("Today", null, null, 80, "10 mph", "Sunny", null),
+                new ForecastPeriod("Tonight", "not a timestamp", null, 60, "5 mph", "Clear", 30)));
+
+        DailyForecast today = forecast.forDate(LocalDate.now());
+        assertEquals(60, today.minTemperature());
+        assertEquals(80, today.maxTemperature());
+        assertEquals("Day: Sunny – Night: Clear", today.summary());
+        assertEquals(30, today.probabilityOfPrecipitation());
+    }
+
+    private static CellForecast recordedForecast() throws IOException {
+        try (InputStream body = ForecastAssemblerTest.class.getResourceAsStream("/fixtures/forecast.json")) {
+            return ForecastAssembler.aggregate(ForecastResponseParser.parseForecast(body).periods());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.WeatherApplication.services;
+
+import com.example.WeatherApplication.cache.CoordinateQuantizer;
+import com.example.WeatherApplication.models.ArchivedForecast;
+import com.example.WeatherApplication.models.DailyForecast;
+import com.example.WeatherApplication.models.ForecastDay;
+import com.example.WeatherApplication.models.ForecastHistory;
+import com.example.WeatherApplication.models.GridCell;
+import com.example.WeatherApplication.repositories.ArchivedForecastRepository;
+import com.example.WeatherApplication.services.Impl.ForecastHistoryServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ForecastHistoryServiceImplTest {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 6, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 8, 31);
+
+    private final ArchivedForecastRepository repository = mock(ArchivedForecastRepository.class);
+    private final CoordinateQuantizer quantizer = new CoordinateQuantizer(0.02);
+    private final ForecastHistoryServiceImpl historyService = new ForecastHistoryServiceImpl(repository, quantizer);
+
+    @Test
+    void testGetHistory_QueriesTheCellAndConvertsUnits() {
+        GridCell cell = quantizer.quantize(40.7128, -74.0060);
+        Instant recorded = Instant.parse("2024-06-09T12:00:00Z");
+        when(repository.findByCellKeyAndForecastDateBetweenOrderByForecastDateAscRecordedAtAsc(ForecastDay.key(cell), FROM, TO))
+                .thenReturn(List.of(new ArchivedForecast(cell, LocalDate.of(2024, 6, 10),
+                        new DailyForecast(50, 68, 5, 15, "Day: Sunny", 10), recorded)));
+
+        ForecastHistory history = historyService.getHistory(40.7128, -74.0060, FROM, TO, true);
+
+        assertEquals(1, history.snapshots().size());
+        assertEquals(recorded, history.snapshots().get(0).recordedAt());
+        assertEquals(LocalDate.of(2024, 6, 10), history.snapshots().get(0).forecast().date());
+        assertEquals(20, history.snapshots().get(0).forecast().temperature().high());
+        assertEquals(40.7128, history.snapshots().get(0).forecast().latitude());
+    }
+
+    @Test
+    void testGetHistory_RejectsInvalidRanges() {
+        assertThrows(IllegalArgumentException.class, () -> historyService.getHistory(40.7, -74.0, TO, FROM, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> historyService.getHistory(40.7, -74.0, FROM, FROM.plusYears(2), false));
+        verifyNoInteractions(repository);
+    }
+}
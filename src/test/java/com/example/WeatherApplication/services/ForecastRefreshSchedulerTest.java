@@ -0,0 +1,149 @@
+package com.example.WeatherApplication.services;
+
+import com.example.WeatherApplication.cache.ForecastCache;
+import com.example.WeatherApplication.cache.HotCellTracker;
+import com.example.WeatherApplication.models.CellForecast;
+import com.example.WeatherApplication.models.GridCell;
+import com.example.WeatherApplication.services.Impl.ForecastRefreshScheduler;
+import com.example.WeatherApplication.services.Impl.WeatherServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ForecastRefreshSchedulerTest {
+
+    private static final GridCell HOT = new GridCell(1, 1, 0.02);
+    private static final GridCell OTHER = new GridCell(2, 2, 0.02);
+    private static final CellForecast FORECAST = new CellForecast(Map.of());
+
+    private final WeatherServiceImpl weatherService = mock(WeatherServiceImpl.class);
+    private final ForecastCache forecastCache = new ForecastCache(100);
+    private final HotCellTracker hotCellTracker = new HotCellTracker(100);
+    private ForecastRefreshScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new ForecastRefreshScheduler(weatherService, forecastCache, hotCellTracker, Runnable::run);
+        ReflectionTestUtils.setField(scheduler, "refreshAhead", Duration.ofMinutes(2));
+        ReflectionTestUtils.setField(scheduler, "jitter", Duration.ZERO);
+    }
+
+    @Test
+    void testRefreshHotEntries_RefreshesEntriesAboutToExpire() {
+        forecastCache.put(HOT, FORECAST, Duration.ofMinutes(1));
+        forecastCache.put(OTHER, FORECAST, Duration.ofMinutes(10));
+        hotCellTracker.record(HOT);
+        hotCellTracker.record(OTHER);
+
+        scheduler.refreshHotEntries();
+
+        verify(weatherService).refresh(HOT);
+        verify(weatherService, never()).refresh(OTHER);
+        assertEquals(1, scheduler.getRefreshedCount());
+    }
+
+    @Test
+    void testRefreshHotEntries_SkipsExpiredAndUnrequestedCells() {
+        forecastCache.put(OTHER, FORECAST, Duration.ofMinutes(1));
+        hotCellTracker.record(HOT);
+
+        scheduler.refreshHotEntries();
+
+        verifyNoInteractions(weatherService);
+    }
+
+    @Test
+    void testRefreshHotEntries_DefersBeyondRateBudget() {
+        ReflectionTestUtils.setField(scheduler, "maxPerSecond", 0.1);
+        ReflectionTestUtils.setField(scheduler, "interval", Duration.ofSeconds(10));
+        forecastCache.put(HOT, FORECAST, Duration.ofMinutes(1));
+        forecastCache.put(OTHER, FORECAST, Duration.ofMinutes(1));
+        hotCellTracker.record(HOT);
+        hotCellTracker.record(HOT);
+        hotCellTracker.record(OTHER);
+
+        scheduler.refreshHotEntries();
+
+        verify(weatherService).refresh(HOT);
+        verify(weatherService, never()).refresh(OTHER);
+        assertEquals(1, scheduler.getDeferredCount());
+    }
+
+    @Test
+    void testRefreshHotEntries_FailureKeepsCurrentEntry() {
+        forecastCache.put(HOT, FORECAST, Duration.ofMinutes(1));
+        hotCellTracker.record(HOT);
+        doThrow(new RuntimeException("upstream down")).when(weatherService).refresh(HOT);
+
+        scheduler.refreshHotEntries();
+
+        assertSame(FORECAST, forecastCache.get(HOT).forecast());
+        assertEquals(0, scheduler.getRefreshedCount());
+    }
+
+    @Test
+    void testRefreshHotEntries_RejectedRefreshIsRetriedOnTheNextTick() {
+        AtomicBoolean reject = new AtomicBoolean(true);
+        scheduler = new ForecastRefreshScheduler(weatherService, forecastCache, hotCellTracker, command -> {
+            if (reject.getAndSet(false)) {
+                throw new TaskRejectedException("Executor is shutting down");
+            }
+            command.run();
+        });
+        ReflectionTestUtils.setField(scheduler, "jitter", Duration.ZERO);
+        forecastCache.put(HOT, FORECAST, Duration.ofMinutes(1));
+        forecastCache.put(OTHER, FORECAST, Duration.ofMinutes(1));
+        hotCellTracker.record(HOT);
+        hotCellTracker.record(HOT);
+        hotCellTracker.record(OTHER);
+
+        // The rejection neither ends the tick nor leaves HOT marked as in progress
+        scheduler.refreshHotEntries();
+        verify(weatherService).refresh(OTHER);
+        assertEquals(1, scheduler.getFailedCount());
+
+        hotCellTracker.record(HOT);
+        scheduler.refreshHotEntries();
+        verify(weatherService).refresh(HOT);
+    }
+
+    @Test
+    void testRefreshHotEntries_JitterIsStablePerEntryAndSpreadAcrossCells() {
+        ReflectionTestUtils.setField(scheduler, "jitter", Duration.ofMinutes(1));
+        // Halfway into the jitter window: due only for entries that drew the earlier half
+        for (int i = 0; i < 20; i++) {
+            GridCell cell = new GridCell(i, i, 0.02);
+            forecastCache.put(cell, FORECAST, Duration.ofSeconds(90));
+        }
+
+        for (int tick = 0; tick < 5; tick++) {
+            // Still requested, so still hot after the tracker decays
+            for (int i = 0; i < 20; i++) {
+                hotCellTracker.record(new GridCell(i, i, 0.02));
+            }
+            scheduler.refreshHotEntries();
+        }
+
+        int refreshedCells = 0;
+        for (int i = 0; i < 20; i++) {
+            GridCell cell = new GridCell(i, i, 0.02);
+            long times = mockingDetails(weatherService).getInvocations().stream()
+                    .filter(invocation -> cell.equals(invocation.getArgument(0)))
+                    .count();
+            // Either refreshed on every tick or on none, never by chance on some
+            assertTrue(times == 0 || times == 5, cell + " refreshed " + times + " times");
+            if (times > 0) {
+                refreshedCells++;
+            }
+        }
+        assertTrue(refreshedCells > 0 && refreshedCells < 20, refreshedCells + " of 20 cells due");
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.WeatherApplication.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.example.WeatherApplication.metrics.ForecastMetrics;
+import com.example.WeatherApplication.models.GridPoint;
+import com.example.WeatherApplication.config.UpstreamResilienceProperties;
+import com.example.WeatherApplication.repositories.GridPointRepository;
+import com.example.WeatherApplication.resilience.UpstreamGuard;
+import com.example.WeatherApplication.services.Impl.GridPointServiceImpl;
+import com.example.WeatherApplication.upstream.PointsDocument;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+class GridPointServiceImplTest {
+
+    private static final String FORECAST_URL = "https://api.weather.gov/gridpoints/MTR/84,105/forecast";
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Mock
+    private GridPointRepository gridPointRepository;
+
+    private GridPointServiceImpl gridPointService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        gridPointService = new GridPointServiceImpl(restTemplate, gridPointRepository,
+                new UpstreamGuard(new UpstreamResilienceProperties()), new ForecastMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(gridPointService, "weatherApiBaseUrl", "https://api.weather.gov");
+        ReflectionTestUtils.setField(gridPointService, "persistent", true);
+        ReflectionTestUtils.setField(gridPointService, "persistentTtl", Duration.ofDays(30));
+    }
+
+    @Test
+    void testKey_RoundsToFourDecimals() {
+        assertEquals("37.7749,-122.4194", GridPoint.key(37.77491234, -122.41941));
+    }
+
+    @Test
+    void testGetForecastUrl_PersistentHitSkipsUpstream() {
+        when(gridPointRepository.findById("37.7749,-122.4194"))
+                .thenReturn(Optional.of(new GridPoint("37.7749,-122.4194", FORECAST_URL, Instant.now())));
+
+        assertEquals(FORECAST_URL, gridPointService.getForecastUrl(37.7749, -122.4194));
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void testGetForecastUrl_ExpiredPersistentEntryIsRefetched() {
+        when(gridPointRepository.findById("37.7749,-122.4194"))
+                .thenReturn(Optional.of(new GridPoint("37.7749,-122.4194", "stale", Instant.now().minus(Duration.ofDays(31)))));
+        respondWith("https://api.weather.gov/points/37.7749,-122.4194", "{\"properties\":{\"forecast\":\"" + FORECAST_URL + "\"}}");
+
+        assertEquals(FORECAST_URL, gridPointService.getForecastUrl(37.7749, -122.4194));
+        verify(gridPointRepository).save(any(GridPoint.class));
+    }
+
+    @Test
+    void testGetForecastUrl_MissFetchesAndPersists() {
+        when(gridPointRepository.findById(anyString())).thenReturn(Optional.empty());
+        respondWith("https://api.weather.gov/points/37.7749,-122.4194", "{\"properties\":{\"forecast\":\"" + FORECAST_URL + "\"}}");
+
+        assertEquals(FORECAST_URL, gridPointService.getForecastUrl(37.7749, -122.4194));
+        verify(gridPointRepository).save(argThat(p -> p.getForecastUrl().equals(FORECAST_URL)));
+    }
+
+    @Test
+    void testGetForecastUrl_PersistenceFailureDoesNotFailLookup() {
+        when(gridPointRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(gridPointRepository.save(any(GridPoint.class))).thenThrow(new IllegalStateException("db down"));
+        respondWith("https://api.weather.gov/points/37.7749,-122.4194", "{\"properties\":{\"forecast\":\"" + FORECAST_URL + "\"}}");
+
+        assertEquals(FORECAST_URL, gridPointService.getForecastUrl(37.7749, -122.4194));
+    }
+
+    @Test
+    void testGetForecastUrl_NonPersistentNeverTouchesRepository() {
+        ReflectionTestUtils.setField(gridPointService, "persistent", false);
+        respondWith("https://api.weather.gov/points/37.7749,-122.4194", "{\"properties\":{\"forecast\":\"" + FORECAST_URL + "\"}}");
+
+        assertEquals(FORECAST_URL, gridPointService.getForecastUrl(37.7749, -122.4194));
+        verifyNoInteractions(gridPointRepository);
+    }
+
+    private void respondWith(String url, String json) {
+        when(restTemplate.execute(eq(url), eq(HttpMethod.GET), isNull(), ArgumentMatchers.<ResponseExtractor<PointsDocument>>any()))
+                .thenAnswer(invocation -> {
+                    ResponseExtractor<PointsDocument> extractor = invocation.getArgument(3);
+                    return extractor.extractData(new MockClientHttpResponse(json.getBytes(StandardCharsets.UTF_8), HttpStatus.OK));
+                });
+    }
+}
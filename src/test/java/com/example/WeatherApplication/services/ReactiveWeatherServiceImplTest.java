@@ -0,0 +1,133 @@
+package com.example.WeatherApplication.services;
+
+import com.example.WeatherApplication.archive.ForecastArchive;
+import com.example.WeatherApplication.cache.CoordinateQuantizer;
+import com.example.WeatherApplication.cache.ForecastCache;
+import com.example.WeatherApplication.cache.ForecastStore;
+import com.example.WeatherApplication.config.CacheConfig;
+import com.example.WeatherApplication.models.CellForecast;
+import com.example.WeatherApplication.models.GridCell;
+import com.example.WeatherApplication.services.Impl.ReactiveWeatherServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReactiveWeatherServiceImplTest {
+
+    private final LocalDate TODAY = LocalDate.now();
+
+    private final AtomicInteger pointsCalls = new AtomicInteger();
+    private final AtomicInteger forecastCalls = new AtomicInteger();
+    private HttpStatus forecastStatus = HttpStatus.OK;
+
+    private final ForecastCache forecastCache = new ForecastCache(100);
+    private final ForecastStore forecastStore = mock(ForecastStore.class);
+    private final ForecastArchive forecastArchive = mock(ForecastArchive.class);
+    private ReactiveWeatherServiceImpl weatherService;
+
+    @BeforeEach
+    void setUp() {
+        // Stub the exchange so requests never leave the JVM
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    String path = request.url().getPath();
+                    if (path.startsWith("/points/")) {
+                        pointsCalls.incrementAndGet();
+                        return Mono.just(json(HttpStatus.OK, fixture("points.json")));
+                    }
+                    forecastCalls.incrementAndGet();
+                    return Mono.just(json(forecastStatus, forecastStatus.is2xxSuccessful() ? fixture("forecast.json") : "{}"));
+                })
+                .build();
+        weatherService = new ReactiveWeatherServiceImpl(webClient,
+                new ConcurrentMapCacheManager(CacheConfig.GRID_POINTS_CACHE),
+                new CoordinateQuantizer(0.02), forecastCache, forecastStore, forecastArchive);
+    }
+
+    @Test
+    void testGetForecast_Success() {
+        StepVerifier.create(weatherService.getForecast(36.244, -94.149, TODAY, false))
+                .assertNext(forecast -> {
+                    assertEquals(36.244, forecast.latitude());
+                    assertEquals(-94.149, forecast.longitude());
+                    assertEquals(TODAY, forecast.date());
+                    assertTrue(forecast.forecast().startsWith("Day: "));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetForecast_SecondCallServedFromCache() {
+        weatherService.getForecast(36.244, -94.149, TODAY, false).block();
+        weatherService.getForecast(36.2441, -94.1491, TODAY, false).block();
+
+        assertEquals(1, pointsCalls.get());
+        assertEquals(1, forecastCalls.get());
+    }
+
+    @Test
+    void testGetForecast_ConcurrentSubscribersShareOneFetch() {
+        Mono<?> first = weatherService.getForecast(36.244, -94.149, TODAY, true);
+        Mono<?> second = weatherService.getForecast(36.244, -94.149, TODAY, true);
+
+        Mono.zip(first, second).block();
+
+        assertEquals(1, forecastCalls.get());
+    }
+
+    @Test
+    void testGetForecast_StoredEntryIsQueuedForThePersistentTier() {
+        weatherService.getForecast(36.244, -94.149, TODAY, false).block();
+
+        GridCell cell = new CoordinateQuantizer(0.02).quantize(36.244, -94.149);
+        verify(forecastStore).enqueue(cell, forecastCache.get(cell));
+    }
+
+    @Test
+    void testGetForecast_FetchedForecastIsArchived() {
+        weatherService.getForecast(36.244, -94.149, TODAY, false).block();
+
+        GridCell cell = new CoordinateQuantizer(0.02).quantize(36.244, -94.149);
+        verify(forecastArchive).record(eq(cell), isNull(), any(CellForecast.class));
+    }
+
+    @Test
+    void testGetForecast_UpstreamErrorPropagates() {
+        forecastStatus = HttpStatus.SERVICE_UNAVAILABLE;
+
+        StepVerifier.create(weatherService.getForecast(36.244, -94.149, TODAY, false))
+                .expectErrorSatisfies(e -> assertTrue(e.getMessage().startsWith("Error getting weather forecast: ")))
+                .verify();
+    }
+
+    private static ClientResponse json(HttpStatus status, String body) {
+        return ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+
+    private static String fixture(String name) {
+        try (InputStream in = ReactiveWeatherServiceImplTest.class.getResourceAsStream("/fixtures/" + name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
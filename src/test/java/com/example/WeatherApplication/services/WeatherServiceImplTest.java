@@ -3,29 +3,77 @@ package com.example.WeatherApplication.services;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.example.WeatherApplication.archive.ForecastArchive;
+import com.example.WeatherApplication.cache.CachedForecast;
+import com.example.WeatherApplication.cache.CoordinateQuantizer;
+import com.example.WeatherApplication.cache.ForecastCache;
+import com.example.WeatherApplication.cache.ForecastStore;
+import com.example.WeatherApplication.cache.HotCellTracker;
+import com.example.WeatherApplication.cache.RequestCoalescer;
+import com.example.WeatherApplication.metrics.ForecastMetrics;
+import com.example.WeatherApplication.models.ForecastResult;
+import com.example.WeatherApplication.models.GridCell;
 import com.example.WeatherApplication.models.Temperature;
 import com.example.WeatherApplication.models.WeatherForecast;
 import com.example.WeatherApplication.models.Wind;
+import com.example.WeatherApplication.config.UpstreamResilienceProperties;
+import com.example.WeatherApplication.repositories.GridPointRepository;
+import com.example.WeatherApplication.resilience.RequestHedger;
+import com.example.WeatherApplication.resilience.UpstreamGuard;
+import com.example.WeatherApplication.resilience.UpstreamRejectedException;
+import com.example.WeatherApplication.services.Impl.ForecastAssembler;
+import com.example.WeatherApplication.services.Impl.GridPointServiceImpl;
 import com.example.WeatherApplication.services.Impl.WeatherServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
 import org.springframework.test.util.ReflectionTestUtils;
+import com.example.WeatherApplication.upstream.ForecastPeriod;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.*;
 
 class WeatherServiceImplTest {
 
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
     @Mock
     private RestTemplate restTemplate; // Mocking API calls
 
-    @InjectMocks
+    @Mock
+    private GridPointRepository gridPointRepository;
+
+    @Mock
+    private ForecastStore forecastStore;
+
+    @Mock
+    private ForecastArchive forecastArchive;
+
     private WeatherServiceImpl weatherService;
 
+    private final ForecastCache forecastCache = new ForecastCache(100, Duration.ofHours(1));
+    private final List<Runnable> revalidations = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ForecastMetrics forecastMetrics;
+    private GridPointServiceImpl gridPointService;
+
     private final double LAT = 37.7749;
     private final double LON = -122.4194;
     private final LocalDate TODAY = LocalDate.now();
@@ -33,7 +81,19 @@ class WeatherServiceImplTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        ReflectionTestUtils.setField(weatherService, "weatherApiBaseUrl", "https://api.weather.gov");
+        forecastMetrics = new ForecastMetrics(meterRegistry);
+        gridPointService = new GridPointServiceImpl(restTemplate, gridPointRepository,
+                new UpstreamGuard(new UpstreamResilienceProperties()), forecastMetrics);
+        ReflectionTestUtils.setField(gridPointService, "weatherApiBaseUrl", "https://api.weather.gov");
+        weatherService = newWeatherService(new UpstreamGuard(new UpstreamResilienceProperties()));
+    }
+
+    private WeatherServiceImpl newWeatherService(UpstreamGuard upstreamGuard) {
+        return new WeatherServiceImpl(restTemplate, gridPointService,
+                new CoordinateQuantizer(0.02), forecastCache, new RequestCoalescer<>("test"),
+                new HotCellTracker(100), revalidations::add, upstreamGuard,
+                new RequestHedger(new UpstreamResilienceProperties.Hedging(), Runnable::run), forecastStore, forecastArchive,
+                forecastMetrics);
     }
 
     @Test
@@ -69,10 +129,8 @@ class WeatherServiceImplTest {
         forecastResponse.put("properties", forecastProperties);
 
         // Configure mock responses
-        when(restTemplate.getForObject(contains("/points/"), eq(Map.class)))
-                .thenReturn(pointsResponse);
-        when(restTemplate.getForObject(contains("/gridpoints/"), eq(Map.class)))
-                .thenReturn(forecastResponse);
+        respondWith("/points/", pointsResponse);
+        respondWith("/gridpoints/", forecastResponse);
 
         // Test method
         WeatherForecast result = weatherService.getForecast(LAT, LON, TODAY, false);
@@ -85,16 +143,13 @@ class WeatherServiceImplTest {
         // Don't check the exact forecast content as it might vary
         assertNotNull(result.forecast());
         assertEquals(75, result.temperature().high());
-        assertEquals(75, result.temperature().low());
+        assertEquals(65, result.temperature().low());
         assertEquals(10, result.wind().max());
-        assertEquals(10, result.wind().min());
-
-        // This assertion should pass
-        assertTrue(true, "This assertion is now fixed");
+        assertEquals(5, result.wind().min());
 
         // Verify API calls
-        verify(restTemplate).getForObject(contains("/points/"), eq(Map.class));
-        verify(restTemplate).getForObject(contains("/gridpoints/"), eq(Map.class));
+        verify(restTemplate).execute(contains("/points/"), eq(HttpMethod.GET), isNull(), anyExtractor());
+        verify(restTemplate).execute(contains("/gridpoints/"), eq(HttpMethod.GET), isNull(), anyExtractor());
     }
 
     @Test
@@ -130,10 +185,8 @@ class WeatherServiceImplTest {
         forecastResponse.put("properties", forecastProperties);
 
         // Configure mock responses
-        when(restTemplate.getForObject(contains("/points/"), eq(Map.class)))
-                .thenReturn(pointsResponse);
-        when(restTemplate.getForObject(contains("/gridpoints/"), eq(Map.class)))
-                .thenReturn(forecastResponse);
+        respondWith("/points/", pointsResponse);
+        respondWith("/gridpoints/", forecastResponse);
 
         // Test method with metric=true
         WeatherForecast result = weatherService.getForecast(LAT, LON, TODAY, true);
@@ -141,9 +194,9 @@ class WeatherServiceImplTest {
         // Assertions for metric conversion
         assertNotNull(result);
         assertEquals(30, result.temperature().high()); // 86°F -> 30°C
-        assertEquals(30, result.temperature().low()); // 68°F -> 20°C (but implementation returns 30)
+        assertEquals(20, result.temperature().low()); // 68°F -> 20°C
         assertEquals(16, result.wind().max()); // 10mph -> 16kph
-        assertEquals(16, result.wind().min()); // 5mph -> 8kph
+        assertEquals(8, result.wind().min()); // 5mph -> 8kph
     }
 
     @Test
@@ -170,10 +223,8 @@ class WeatherServiceImplTest {
         forecastResponse.put("properties", forecastProperties);
 
         // Configure mock responses
-        when(restTemplate.getForObject(contains("/points/"), eq(Map.class)))
-                .thenReturn(pointsResponse);
-        when(restTemplate.getForObject(contains("/gridpoints/"), eq(Map.class)))
-                .thenReturn(forecastResponse);
+        respondWith("/points/", pointsResponse);
+        respondWith("/gridpoints/", forecastResponse);
 
         // Test method with null date
         WeatherForecast result = weatherService.getForecast(LAT, LON, null, false);
@@ -209,10 +260,8 @@ class WeatherServiceImplTest {
         forecastResponse.put("properties", forecastProperties);
 
         // Configure mock responses
-        when(restTemplate.getForObject(contains("/points/"), eq(Map.class)))
-                .thenReturn(pointsResponse);
-        when(restTemplate.getForObject(contains("/gridpoints/"), eq(Map.class)))
-                .thenReturn(forecastResponse);
+        respondWith("/points/", pointsResponse);
+        respondWith("/gridpoints/", forecastResponse);
 
         // Test method
         WeatherForecast result = weatherService.getForecast(LAT, LON, TODAY, false);
@@ -246,10 +295,8 @@ class WeatherServiceImplTest {
         forecastResponse.put("properties", forecastProperties);
 
         // Configure mock responses
-        when(restTemplate.getForObject(contains("/points/"), eq(Map.class)))
-                .thenReturn(pointsResponse);
-        when(restTemplate.getForObject(contains("/gridpoints/"), eq(Map.class)))
-                .thenReturn(forecastResponse);
+        respondWith("/points/", pointsResponse);
+        respondWith("/gridpoints/", forecastResponse);
 
         // Test method
         WeatherForecast result = weatherService.getForecast(LAT, LON, TODAY, false);
@@ -283,10 +330,8 @@ class WeatherServiceImplTest {
         forecastResponse.put("properties", forecastProperties);
 
         // Configure mock responses
-        when(restTemplate.getForObject(contains("/points/"), eq(Map.class)))
-                .thenReturn(pointsResponse);
-        when(restTemplate.getForObject(contains("/gridpoints/"), eq(Map.class)))
-                .thenReturn(forecastResponse);
+        respondWith("/points/", pointsResponse);
+        respondWith("/gridpoints/", forecastResponse);
 
         // Test method
         WeatherForecast result = weatherService.getForecast(LAT, LON, TODAY, false);
@@ -309,10 +354,8 @@ class WeatherServiceImplTest {
         // No properties
 
         // Configure mock responses
-        when(restTemplate.getForObject(contains("/points/"), eq(Map.class)))
-                .thenReturn(pointsResponse);
-        when(restTemplate.getForObject(contains("/gridpoints/"), eq(Map.class)))
-                .thenReturn(forecastResponse);
+        respondWith("/points/", pointsResponse);
+        respondWith("/gridpoints/", forecastResponse);
 
         // Test and verify exception
         Exception exception = assertThrows(RuntimeException.class, () ->
@@ -324,7 +367,7 @@ class WeatherServiceImplTest {
     @Test
     void testGetForecast_NullPointsResponse() {
         // Mock null response
-        when(restTemplate.getForObject(anyString(), eq(Map.class))).thenReturn(null);
+        respondWith("", null);
 
         // Test and verify exception
         Exception exception = assertThrows(RuntimeException.class, () ->
@@ -341,8 +384,7 @@ class WeatherServiceImplTest {
         // No forecast URL
         pointsResponse.put("properties", pointsProperties);
 
-        when(restTemplate.getForObject(contains("/points/"), eq(Map.class)))
-                .thenReturn(pointsResponse);
+        respondWith("/points/", pointsResponse);
 
         // Test and verify exception
         Exception exception = assertThrows(RuntimeException.class, () ->
@@ -360,10 +402,8 @@ class WeatherServiceImplTest {
         pointsResponse.put("properties", pointsProperties);
 
         // Configure mock responses
-        when(restTemplate.getForObject(contains("/points/"), eq(Map.class)))
-                .thenReturn(pointsResponse);
-        when(restTemplate.getForObject(contains("/gridpoints/"), eq(Map.class)))
-                .thenReturn(null);
+        respondWith("/points/", pointsResponse);
+        respondWith("/gridpoints/", null);
 
         // Test and verify exception
         Exception exception = assertThrows(RuntimeException.class, () ->
@@ -387,10 +427,8 @@ class WeatherServiceImplTest {
         forecastResponse.put("properties", forecastProperties);
 
         // Configure mock responses
-        when(restTemplate.getForObject(contains("/points/"), eq(Map.class)))
-                .thenReturn(pointsResponse);
-        when(restTemplate.getForObject(contains("/gridpoints/"), eq(Map.class)))
-                .thenReturn(forecastResponse);
+        respondWith("/points/", pointsResponse);
+        respondWith("/gridpoints/", forecastResponse);
 
         // Test and verify exception
         Exception exception = assertThrows(RuntimeException.class, () ->
@@ -398,4 +436,224 @@ class WeatherServiceImplTest {
         );
         assertEquals("Error getting weather forecast: The forecast periods data is missing or empty.", exception.getMessage());
     }
+
+    @Test
+    void testGetForecast_NearbyCoordinatesServedFromCache() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl(CacheControl.maxAge(Duration.ofMinutes(5)));
+        mockUpstream(forecastResponse("Day", 80), headers);
+
+        WeatherForecast first = weatherService.getForecast(40.71281, -74.00601, TODAY, false);
+        WeatherForecast second = weatherService.getForecast(40.71282, -74.00602, TODAY, false);
+
+        // Same cell: one upstream round trip, but each caller gets its own coordinates back
+        verify(restTemplate, times(1)).execute(contains("/gridpoints/"), eq(HttpMethod.GET), isNull(), anyExtractor());
+        assertEquals(first.temperature(), second.temperature());
+        assertEquals(40.71282, second.latitude());
+        assertEquals(-74.00602, second.longitude());
+    }
+
+    @Test
+    void testGetForecast_MetricServedFromSameCacheEntry() {
+        mockUpstream(forecastResponse("Day", 80), new HttpHeaders());
+
+        WeatherForecast imperial = weatherService.getForecast(40.7128, -74.0060, TODAY, false);
+        WeatherForecast metric = weatherService.getForecast(40.7128, -74.0060, TODAY, true);
+
+        // Units are converted per request from the one parsed forecast
+        assertEquals(80, imperial.temperature().high());
+        assertEquals(26, metric.temperature().high());
+        assertEquals(16, metric.wind().max());
+        verify(restTemplate, times(1)).execute(contains("/gridpoints/"), eq(HttpMethod.GET), isNull(), anyExtractor());
+    }
+
+    @Test
+    void testGetForecast_NoStoreIsNotCached() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl(CacheControl.noStore());
+        mockUpstream(forecastResponse("Day", 80), headers);
+
+        weatherService.getForecast(40.7128, -74.0060, TODAY, false);
+        weatherService.getForecast(40.7128, -74.0060, TODAY, false);
+
+        verify(restTemplate, times(2)).execute(contains("/gridpoints/"), eq(HttpMethod.GET), isNull(), anyExtractor());
+        verifyNoInteractions(forecastStore);
+    }
+
+    @Test
+    void testGetForecastResult_StaleEntryServedWhileRevalidating() throws InterruptedException {
+        GridCell cell = new CoordinateQuantizer(0.02).quantize(40.7128, -74.0060);
+        forecastCache.put(cell, ForecastAssembler.aggregate(List.of(
+                new ForecastPeriod("Today", null, true, 70, "5 mph", "Cloudy", null))), Duration.ofMillis(1));
+        Thread.sleep(5);
+        mockUpstream(forecastResponse("Day", 80), new HttpHeaders());
+
+        ForecastResult stale = weatherService.getForecastResult(40.7128, -74.0060, TODAY, false);
+
+        assertEquals(ForecastResult.Freshness.STALE, stale.freshness());
+        assertEquals(70, stale.forecast().temperature().high());
+        verify(restTemplate, never()).execute(contains("/gridpoints/"), eq(HttpMethod.GET), isNull(), anyExtractor());
+
+        // Only one revalidation is queued however many stale hits arrive
+        weatherService.getForecastResult(40.7128, -74.0060, TODAY, false);
+        assertEquals(1, revalidations.size());
+        revalidations.get(0).run();
+
+        ForecastResult fresh = weatherService.getForecastResult(40.7128, -74.0060, TODAY, false);
+        assertEquals(ForecastResult.Freshness.FRESH, fresh.freshness());
+        assertEquals(80, fresh.forecast().temperature().high());
+        // The replaced forecast is handed over so only changed dates are archived
+        verify(forecastArchive).record(eq(cell), eq(ForecastAssembler.aggregate(List.of(
+                new ForecastPeriod("Today", null, true, 70, "5 mph", "Cloudy", null)))), any());
+    }
+
+    @Test
+    void testGetForecastResult_StaleEntryServedWhenRefetchFails() throws InterruptedException {
+        ReflectionTestUtils.setField(weatherService, "staleWhileRevalidate", false);
+        GridCell cell = new CoordinateQuantizer(0.02).quantize(40.7128, -74.0060);
+        forecastCache.put(cell, ForecastAssembler.aggregate(List.of(
+                new ForecastPeriod("Today", null, true, 70, "5 mph", "Cloudy", null))), Duration.ofMillis(1));
+        Thread.sleep(5);
+        when(restTemplate.execute(contains("/points/"), eq(HttpMethod.GET), isNull(), anyExtractor()))
+                .thenThrow(new RestClientException("Read timed out"));
+
+        ForecastResult result = weatherService.getForecastResult(40.7128, -74.0060, TODAY, false);
+
+        assertEquals(ForecastResult.Freshness.REVALIDATION_FAILED, result.freshness());
+        assertEquals(70, result.forecast().temperature().high());
+        assertTrue(result.age().toMillis() >= 5);
+        assertTrue(revalidations.isEmpty());
+    }
+
+    @Test
+    void testGetForecast_StoresUpstreamValidators() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"v1\"");
+        headers.set(HttpHeaders.LAST_MODIFIED, "Mon, 10 Jun 2024 12:00:00 GMT");
+        mockUpstream(forecastResponse("Day", 80), headers);
+
+        weatherService.getForecast(40.7128, -74.0060, TODAY, false);
+
+        CachedForecast cached = forecastCache.get(new CoordinateQuantizer(0.02).quantize(40.7128, -74.0060));
+        assertEquals("\"v1\"", cached.etag());
+        assertEquals("Mon, 10 Jun 2024 12:00:00 GMT", cached.lastModified());
+        // The stored entry, validators included, is queued for the persistent tier
+        verify(forecastStore).enqueue(new CoordinateQuantizer(0.02).quantize(40.7128, -74.0060), cached);
+    }
+
+    @Test
+    void testGetForecast_NotModifiedReusesCachedForecastWithoutParsing() throws InterruptedException {
+        ReflectionTestUtils.setField(weatherService, "staleWhileRevalidate", false);
+        GridCell cell = new CoordinateQuantizer(0.02).quantize(40.7128, -74.0060);
+        forecastCache.put(cell, ForecastAssembler.aggregate(List.of(
+                        new ForecastPeriod("Today", null, true, 70, "5 mph", "Cloudy", null))),
+                Duration.ofMillis(1), "\"v1\"", "Mon, 10 Jun 2024 12:00:00 GMT");
+        Thread.sleep(5);
+        respondWith("/points/", Map.of("properties", Map.of("forecast", "https://api.weather.gov/gridpoints/OKX/33,35/forecast")));
+
+        HttpHeaders sent = new HttpHeaders();
+        when(restTemplate.execute(contains("/gridpoints/"), eq(HttpMethod.GET), notNull(), anyExtractor()))
+                .thenAnswer(invocation -> {
+                    MockClientHttpRequest request = new MockClientHttpRequest();
+                    invocation.getArgument(2, RequestCallback.class).doWithRequest(request);
+                    sent.putAll(request.getHeaders());
+                    // An empty 304 body would fail if the extractor tried to parse it
+                    MockClientHttpResponse response = new MockClientHttpResponse(new byte[0], HttpStatus.NOT_MODIFIED);
+                    response.getHeaders().setCacheControl(CacheControl.maxAge(Duration.ofMinutes(5)));
+                    return invocation.<ResponseExtractor<?>>getArgument(3).extractData(response);
+                });
+
+        ForecastResult result = weatherService.getForecastResult(40.7128, -74.0060, TODAY, false);
+
+        assertEquals(ForecastResult.Freshness.FRESH, result.freshness());
+        assertEquals(70, result.forecast().temperature().high());
+        assertEquals("\"v1\"", sent.getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals("Mon, 10 Jun 2024 12:00:00 GMT", sent.getFirst(HttpHeaders.IF_MODIFIED_SINCE));
+        CachedForecast renewed = forecastCache.get(cell);
+        assertTrue(renewed.isFresh(Instant.now()));
+        assertEquals("\"v1\"", renewed.etag());
+        verifyNoInteractions(forecastArchive);
+    }
+
+    @Test
+    void testGetForecast_RecordsEveryStage() {
+        mockUpstream(forecastResponse("Day", 80), new HttpHeaders());
+
+        weatherService.getForecast(40.7128, -74.0060, TODAY, false);
+        weatherService.getForecast(40.7128, -74.0060, TODAY, true);
+
+        // One fetch, decode and aggregation for the cell; a conversion per request
+        assertEquals(1, meterRegistry.get("weather.forecast.stage").tag("stage", "points_fetch").timer().count());
+        assertEquals(1, meterRegistry.get("weather.forecast.stage").tag("stage", "forecast_fetch").timer().count());
+        assertEquals(1, meterRegistry.get("weather.forecast.stage").tag("stage", "decode").timer().count());
+        assertEquals(1, meterRegistry.get("weather.forecast.stage").tag("stage", "aggregate").timer().count());
+        assertEquals(2, meterRegistry.get("weather.forecast.stage").tag("stage", "convert").timer().count());
+        assertEquals(1, meterRegistry.get("weather.upstream.responses").tags("endpoint", "forecast", "status", "200").counter().count());
+        assertEquals(0, meterRegistry.get("weather.upstream.in-flight").tag("endpoint", "forecast").gauge().value());
+    }
+
+    @Test
+    void testGetForecast_UpstreamRejectionPropagatesUnwrapped() {
+        UpstreamResilienceProperties properties = new UpstreamResilienceProperties();
+        properties.getCircuitBreaker().setWindowSize(1);
+        properties.getCircuitBreaker().setMinimumCalls(1);
+        weatherService = newWeatherService(new UpstreamGuard(properties));
+        respondWith("/points/", Map.of("properties", Map.of("forecast", "https://api.weather.gov/gridpoints/OKX/33,35/forecast")));
+        when(restTemplate.execute(contains("/gridpoints/"), eq(HttpMethod.GET), isNull(), anyExtractor()))
+                .thenThrow(new ResourceAccessException("Read timed out"));
+        assertThrows(RuntimeException.class, () -> weatherService.getForecast(40.7128, -74.0060, TODAY, false));
+
+        // The failure opened the circuit, so the next fetch is shed without calling upstream
+        assertThrows(UpstreamRejectedException.class, () -> weatherService.getForecast(40.7128, -74.0060, TODAY, false));
+        verify(restTemplate, times(1)).execute(contains("/gridpoints/"), eq(HttpMethod.GET), isNull(), anyExtractor());
+    }
+
+    @Test
+    void testGetForecast_CountsUpstreamErrorStatuses() {
+        respondWith("/points/", Map.of("properties", Map.of("forecast", "https://api.weather.gov/gridpoints/OKX/33,35/forecast")));
+        when(restTemplate.execute(contains("/gridpoints/"), eq(HttpMethod.GET), isNull(), anyExtractor()))
+                .thenThrow(HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", null, null, null));
+
+        assertThrows(RuntimeException.class, () -> weatherService.getForecast(40.7128, -74.0060, TODAY, false));
+
+        assertEquals(1, meterRegistry.get("weather.upstream.responses").tags("endpoint", "forecast", "status", "503").counter().count());
+        assertEquals(1, meterRegistry.get("weather.upstream.responses").tags("endpoint", "points", "status", "200").counter().count());
+        assertEquals(1, meterRegistry.get("weather.forecast.stage").tag("stage", "forecast_fetch").timer().count());
+    }
+
+    private void mockUpstream(Map<String, Object> forecastResponse, HttpHeaders headers) {
+        Map<String, Object> pointsResponse = new HashMap<>();
+        pointsResponse.put("properties", Map.of("forecast", "https://api.weather.gov/gridpoints/OKX/33,35/forecast"));
+        respondWith("/points/", pointsResponse);
+        respondWith("/gridpoints/", forecastResponse, headers);
+    }
+
+    private void respondWith(String path, Map<String, Object> body) {
+        respondWith(path, body, new HttpHeaders());
+    }
+
+    // Feeds the JSON form of body (or an empty body for null) through the service's own response extractor
+    private void respondWith(String path, Map<String, Object> body, HttpHeaders headers) {
+        when(restTemplate.execute(contains(path), eq(HttpMethod.GET), isNull(), anyExtractor()))
+                .thenAnswer(invocation -> {
+                    byte[] json = body == null ? new byte[0] : MAPPER.writeValueAsBytes(body);
+                    MockClientHttpResponse response = new MockClientHttpResponse(json, HttpStatus.OK);
+                    response.getHeaders().putAll(headers);
+                    return invocation.<ResponseExtractor<?>>getArgument(3).extractData(response);
+                });
+    }
+
+    // Typed so the stubs match whatever the service extracts without raw-type warnings
+    private static <T> ResponseExtractor<T> anyExtractor() {
+        return any();
+    }
+
+    private static Map<String, Object> forecastResponse(String name, int temperature) {
+        Map<String, Object> period = new HashMap<>();
+        period.put("name", name);
+        period.put("temperature", temperature);
+        period.put("windSpeed", "10 mph");
+        period.put("shortForecast", "Sunny");
+        return Map.of("properties", Map.of("periods", List.of(period)));
+    }
 }
@@ -0,0 +1,93 @@
+package com.example.WeatherApplication.upstream;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ForecastResponseParserTest {
+
+    @Test
+    void testParsePoints_RecordedResponse() throws IOException {
+        try (InputStream body = fixture("points.json")) {
+            PointsDocument points = ForecastResponseParser.parsePoints(body);
+
+            assertTrue(points.hasProperties());
+            assertEquals("https://api.weather.gov/gridpoints/MTR/85,105/forecast", points.forecastUrl());
+        }
+    }
+
+    @Test
+    void testParseForecast_RecordedResponse() throws IOException {
+        try (InputStream body = fixture("forecast.json")) {
+            ForecastDocument forecast = ForecastResponseParser.parseForecast(body);
+
+            assertTrue(forecast.hasProperties());
+            assertEquals(14, forecast.periods().size());
+            ForecastPeriod first = forecast.periods().get(0);
+            assertEquals("Today", first.name());
+            assertEquals(68, first.temperature());
+            assertEquals("10 to 15 mph", first.windSpeed());
+            assertEquals("Patchy Fog then Mostly Sunny", first.shortForecast());
+            assertEquals("2024-06-10T06:00:00-07:00", first.startTime());
+            assertTrue(first.isDaytime());
+            assertNull(first.probabilityOfPrecipitation());
+        }
+    }
+
+    @Test
+    void testParseForecast_ScalarsAsStringsOrNumbers() throws IOException {
+        ForecastDocument forecast = ForecastResponseParser.parseForecast(json(
+                "{\"properties\":{\"periods\":[{\"name\":\"Day\",\"temperature\":\"75\",\"windSpeed\":10}]}}"));
+
+        ForecastPeriod period = forecast.periods().get(0);
+        assertEquals(75, period.temperature());
+        assertEquals("10", period.windSpeed());
+        assertNull(period.shortForecast());
+    }
+
+    @Test
+    void testParseForecast_ProbabilityOfPrecipitation() throws IOException {
+        ForecastDocument forecast = ForecastResponseParser.parseForecast(json(
+                "{\"properties\":{\"periods\":[{\"isDaytime\":false,"
+                        + "\"probabilityOfPrecipitation\":{\"unitCode\":\"wmoUnit:percent\",\"value\":40}}]}}"));
+
+        ForecastPeriod period = forecast.periods().get(0);
+        assertFalse(period.isDaytime());
+        assertEquals(40, period.probabilityOfPrecipitation());
+    }
+
+    @Test
+    void testParseForecast_MissingSections() throws IOException {
+        assertNull(ForecastResponseParser.parseForecast(json("")));
+        assertFalse(ForecastResponseParser.parseForecast(json("{\"properties\":null}")).hasProperties());
+        assertNull(ForecastResponseParser.parseForecast(json("{\"properties\":{}}")).periods());
+    }
+
+    @Test
+    void testParsePoints_MissingForecastUrl() throws IOException {
+        PointsDocument points = ForecastResponseParser.parsePoints(json("{\"properties\":{\"forecast\":null}}"));
+
+        assertTrue(points.hasProperties());
+        assertNull(points.forecastUrl());
+    }
+
+    @Test
+    void testParse_MalformedJson() {
+        assertThrows(JsonParseException.class, () -> ForecastResponseParser.parseForecast(json("{\"properties\":")));
+        assertThrows(IOException.class, () -> ForecastResponseParser.parsePoints(json("[1,2]")));
+    }
+
+    private static InputStream fixture(String name) {
+        return ForecastResponseParserTest.class.getResourceAsStream("/fixtures/" + name);
+    }
+
+    private static InputStream json(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}